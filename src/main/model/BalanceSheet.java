@@ -1,195 +1,576 @@
 package model;
 
-import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.NavigableMap;
 
 // Represents a balance sheet with both expense and income records
-//   it maintains the number of records, total expense and income, and balance (in dollars)
+//   it maintains the number of records, total expense and income, and balance
+//   totals are kept exactly in cents; the dollar methods convert them for display
+//   records are kept in copy-on-write segments, so a snapshot of the whole sheet is cheap to take
+//   every change to the expenses is passed on to its budget engine, which keeps the budgets consumed
 public class BalanceSheet {
-    private final List<Record> expenseList;
-    private final List<Record> incomeList;
+    private final SegmentedRecordList expenseList;
+    private final SegmentedRecordList incomeList;
+    private final RecordIndex expenseIndex;
+    private final RecordIndex incomeIndex;
+    private final BudgetEngine budgets;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM");
 
     public BalanceSheet() {
-        expenseList = new ArrayList<>();
-        incomeList = new ArrayList<>();
+        expenseList = new SegmentedRecordList();
+        incomeList = new SegmentedRecordList();
+        expenseIndex = new RecordIndex(ExpenseCategory.values().length);
+        incomeIndex = new RecordIndex(IncomeCategory.values().length);
+        budgets = new BudgetEngine();
     }
 
     // MODIFIES: this
     // EFFECTS: add a record to the balance sheet
-    // return true if added successfully
+    // return true if added successfully, false if the record, or a copy of it with the same recordID,
+    //  is already in the balance sheet
     public boolean addRecord(Record record) {
+        if (indexOf(record).get(record.getRecordID()) != null) {
+            return false;
+        }
         if (record.getClass() == Expense.class) {
             expenseList.add(record);
-            EventLog.getInstance().logEvent(new Event("Expense added to Balance Sheet"));
+            expenseIndex.add(record);
+            budget(record, record.getAmountCents());
+            EventLog.getInstance().logEvent(EventType.EXPENSE_ADDED);
         }
         if (record.getClass() == Income.class) {
             incomeList.add(record);
-            EventLog.getInstance().logEvent(new Event("Income added to Balance Sheet"));
+            incomeIndex.add(record);
+            EventLog.getInstance().logEvent(EventType.INCOME_ADDED);
         }
         return true;
     }
 
-    // EFFECTS: return expense by its tempID
-    //  return null if no match
-    public Record fetchExpense(int id) {
-        for (Record temp : expenseList) {
-            if (temp.getTempID() == id) {
-                return temp;
+    // MODIFIES: this
+    // EFFECTS: adds every record whose recordID is not yet in the balance sheet, presizing the storage once,
+    //  updating the indexes once per batch and logging a single event for the whole batch, if it added any
+    //  return the number of records added
+    public int addRecords(Collection<? extends Record> records) {
+        List<Record> expenses = new ArrayList<>(records.size());
+        List<Record> incomes = new ArrayList<>();
+        for (Record record : records) {
+            if (record.getClass() == Expense.class) {
+                expenses.add(record);
+            } else if (record.getClass() == Income.class) {
+                incomes.add(record);
             }
         }
-        return null;
+        expenses = expenseIndex.addAll(expenses);
+        incomes = incomeIndex.addAll(incomes);
+        for (Record expense : expenses) {
+            budget(expense, expense.getAmountCents());
+        }
+        expenseList.ensureCapacity(expenseList.size() + expenses.size());
+        expenseList.addAll(expenses);
+        incomeList.ensureCapacity(incomeList.size() + incomes.size());
+        incomeList.addAll(incomes);
+        int added = expenses.size() + incomes.size();
+        if (added > 0) {
+            EventLog.getInstance().logEvent(EventType.RECORDS_ADDED, expenses.size(), 0, incomes.size(),
+                    Event.NO_CATEGORY);
+        }
+        return added;
+    }
+
+    // EFFECTS: return true if this very record is in the balance sheet
+    public boolean isRecorded(Record record) {
+        return indexOf(record).contains(record);
+    }
+
+    // EFFECTS: return expense by its recordID
+    //  return null if no match
+    public Record fetchExpense(int id) {
+        return expenseIndex.get(id);
     }
 
-    // EFFECTS: return income by its tempID
+    // EFFECTS: return income by its recordID
     //  return null if no match
     public Record fetchIncome(int id) {
-        for (Record temp : incomeList) {
-            if (temp.getTempID() == id) {
-                return temp;
-            }
-        }
-        return null;
+        return incomeIndex.get(id);
     }
 
     // MODIFIES: this
-    // EFFECTS: delete one expense or income record from the balance sheet
-    //  return true if deleting successfully
+    // EFFECTS: delete one expense or income record from the balance sheet, in O(log n):
+    //  its slot in the list is left as a tombstone, reclaimed by a compaction once tombstones fill half
+    //  of the list, in O(n); the quantile sketches of its month are rebuilt, in O(records of the month),
+    //  when next read
     public void deleteRecord(Record record) {
         if (record.getClass() == Expense.class) {
-            expenseList.remove(record);
+            if (expenseIndex.remove(record)) {
+                expenseList.remove(record);
+                budget(record, -record.getAmountCents());
+            }
         } else {
-            incomeList.remove(record);
+            if (incomeIndex.remove(record)) {
+                incomeList.remove(record);
+            }
+        }
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // MODIFIES: this
+    // EFFECTS: delete all expenses or incomes of a given month and year in a single operation,
+    //  logging a single event; return the number of records deleted
+    public int deleteByMonth(String className, String yyyymm) {
+        YearMonth month = YearMonth.parse(yyyymm, formatter);
+        List<Record> removed = indexOf(className).removeMonth(month);
+        SegmentedRecordList list = "expense".equals(className) ? expenseList : incomeList;
+        for (Record record : removed) {
+            list.remove(record);
+            budget(record, -record.getAmountCents());
+        }
+        EventLog.getInstance().logEvent(EventType.MONTH_DELETED, removed.size(), EventType.monthCode(month));
+        return removed.size();
+    }
+
+    // MODIFIES: this, record
+    // EFFECTS: resets the amount in dollars of a record and updates the running totals
+    public void resetAmount(Record record, double amount) {
+        resetAmountCents(record, Money.toCents(amount));
+    }
+
+    // MODIFIES: this, record
+    // EFFECTS: resets the amount in cents of a record and updates the running totals
+    public void resetAmountCents(Record record, long amountCents) {
+        long previousCents = record.getAmountCents();
+        preserve(record);
+        record.resetAmountCents(amountCents);
+        indexOf(record).changeAmount(record, previousCents);
+        if (isRecorded(record)) {
+            budget(record, amountCents - previousCents);
         }
     }
 
+    // MODIFIES: this, record
+    // EFFECTS: adds a category to an expense and updates the totals kept per category
+    public void classify(Record record, ExpenseCategory category) {
+        int previousOrdinal = record.getCategoryOrdinal();
+        preserve(record);
+        record.classify(category);
+        indexOf(record).changeCategory(record, previousOrdinal);
+        moveBudget(record, record.getDateTime(), previousOrdinal);
+    }
+
+    // MODIFIES: this, income
+    // EFFECTS: adds a category to an income and updates the totals kept per category
+    public void classify(Income income, IncomeCategory category) {
+        int previousOrdinal = income.getCategoryOrdinal();
+        preserve(income);
+        income.classify(category);
+        incomeIndex.changeCategory(income, previousOrdinal);
+    }
+
+    // REQUIRES: the format of date must be yyyy-mm-dd
+    // MODIFIES: this, record
+    // EFFECTS: resets the date of a record and moves it to its new place in the indexes
+    public void resetDate(Record record, String date) {
+        LocalDateTime previousDateTime = record.getDateTime();
+        preserve(record);
+        record.resetDate(date);
+        indexOf(record).move(record, previousDateTime);
+        moveBudget(record, previousDateTime, record.getCategoryOrdinal());
+    }
+
+    // MODIFIES: this, record
+    // EFFECTS: resets the date and time of a record and moves it to its new place in the indexes
+    public void resetDateTime(Record record, LocalDateTime dateTime) {
+        LocalDateTime previousDateTime = record.getDateTime();
+        preserve(record);
+        record.resetDateTime(dateTime);
+        indexOf(record).move(record, previousDateTime);
+        moveBudget(record, previousDateTime, record.getCategoryOrdinal());
+    }
+
+    // REQUIRES: the format of date must be yyyy-mm-dd
+    // MODIFIES: this, records
+    // EFFECTS: resets the date of many records at once, keeping their times, and moves each of them
+    //  to its new place in the indexes; logs a single event
+    public void resetDates(Collection<? extends Record> records, String date) {
+        for (Record record : records) {
+            resetDate(record, date);
+        }
+        if (EventLog.getInstance().isLoggable(EventType.RECORDS_MOVED)) {
+            EventLog.getInstance().logEvent(EventType.RECORDS_MOVED, records.size(),
+                    LocalDate.parse(date).toEpochDay());
+        }
+    }
 
     // REQUIRES: input must be in the format of yyyy-mm
     // EFFECTS: return a list of expense or income of a given month and year
-    // TODO: improve the algorithm maybe
     public List<Record> listByMonth(String className, String yyyymm) {
-        List<Record> res = new ArrayList<>();
-
         YearMonth callMonth = YearMonth.parse(yyyymm, formatter);
-        int year = callMonth.getYear();
-        int month = callMonth.getMonthValue();
+        List<Record> res = indexOf(className).listByMonth(callMonth);
+        EventLog.getInstance().logEvent(EventType.MONTH_REVIEWED, 0, EventType.monthCode(callMonth));
+        return res;
+    }
 
-        if ("expense".equals(className)) {
-            for (Record record : expenseList) {
-                if (record.getMonth() == month && record.getYear() == year) {
-                    res.add(record);
-                }
-            }
-        } else {
-            for (Record record : incomeList) {
-                if (record.getMonth() == month && record.getYear() == year) {
-                    res.add(record);
-                }
-            }
+    // REQUIRES: from and to must be in the format of yyyy-mm-dd
+    // EFFECTS: return a list of expense or income dated from one day to another, both included,
+    //  ordered by timeID
+    public List<Record> listBetween(String className, String from, String to) {
+        List<Record> res = indexOf(className).listBetween(startOf(from), endOf(to));
+        if (EventLog.getInstance().isLoggable(EventType.RANGE_REVIEWED)) {
+            EventLog.getInstance().logEvent(EventType.RANGE_REVIEWED, 0, LocalDate.parse(from).toEpochDay(),
+                    LocalDate.parse(to).toEpochDay(), Event.NO_CATEGORY);
         }
-        EventLog.getInstance().logEvent(new Event("Records of " + yyyymm + " reviewed"));
         return res;
     }
 
+    // REQUIRES: from and to must be in the format of yyyy-mm-dd
+    // EFFECTS: calculate the total expense or income dated from one day to another, both included
+    public double totalBetween(String className, String from, String to) {
+        return Money.toDollars(totalCentsBetween(className, from, to));
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm-dd
+    // EFFECTS: calculate the total expense or income in cents dated from one day to another, both included
+    public long totalCentsBetween(String className, String from, String to) {
+        return indexOf(className).totalBetween(LocalDate.parse(from), LocalDate.parse(to));
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm-dd
+    // EFFECTS: calculate the total expense in cents of a category dated from one day to another, both included
+    public long totalCentsBetween(ExpenseCategory category, String from, String to) {
+        return expenseIndex.totalBetween(category.ordinal(), LocalDate.parse(from), LocalDate.parse(to));
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm-dd
+    // EFFECTS: calculate the total income in cents of a category dated from one day to another, both included
+    public long totalCentsBetween(IncomeCategory category, String from, String to) {
+        return incomeIndex.totalBetween(category.ordinal(), LocalDate.parse(from), LocalDate.parse(to));
+    }
+
+    // REQUIRES: anchor must be in the format of yyyy-mm-dd, days >= 0
+    // EFFECTS: return the count and total of the expenses or incomes dated within the trailing window of days days
+    //  ending on anchor, anchor included, e.g. the moving 7, 30 or 90 day spend
+    public WindowStats trailing(String className, String anchor, int days) {
+        return indexOf(className).trailing(LocalDate.parse(anchor), days);
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: return the count and total of the expenses or incomes of a given month over its days up to today:
+    //  all of its days for a past month, the days elapsed so far for the current month, none for a future month
+    public WindowStats monthToDate(String className, String yyyymm, LocalDate today) {
+        YearMonth month = YearMonth.parse(yyyymm, formatter);
+        if (month.isAfter(YearMonth.from(today))) {
+            return new WindowStats(0, 0, 0);
+        }
+        LocalDate end = month.equals(YearMonth.from(today)) ? today : month.atEndOfMonth();
+        return indexOf(className).trailing(end, end.getDayOfMonth());
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm
+    // EFFECTS: return the count, sum, minimum and maximum of the expenses of each category
+    //  from one month to another, both included
+    public EnumMap<ExpenseCategory, CategoryStats> expenseBreakdown(String fromYyyymm, String toYyyymm) {
+        CategoryStats[] breakdown = expenseIndex.breakdownBetween(YearMonth.parse(fromYyyymm, formatter),
+                YearMonth.parse(toYyyymm, formatter));
+        EnumMap<ExpenseCategory, CategoryStats> res = new EnumMap<>(ExpenseCategory.class);
+        for (ExpenseCategory category : ExpenseCategory.values()) {
+            res.put(category, breakdown[category.ordinal()]);
+        }
+        return res;
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm
+    // EFFECTS: return the count, sum, minimum and maximum of the incomes of each category
+    //  from one month to another, both included
+    public EnumMap<IncomeCategory, CategoryStats> incomeBreakdown(String fromYyyymm, String toYyyymm) {
+        CategoryStats[] breakdown = incomeIndex.breakdownBetween(YearMonth.parse(fromYyyymm, formatter),
+                YearMonth.parse(toYyyymm, formatter));
+        EnumMap<IncomeCategory, CategoryStats> res = new EnumMap<>(IncomeCategory.class);
+        for (IncomeCategory category : IncomeCategory.values()) {
+            res.put(category, breakdown[category.ordinal()]);
+        }
+        return res;
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: return the count, sum, minimum and maximum of the expenses of a category in a given month
+    public CategoryStats statsByMonth(ExpenseCategory category, String yyyymm) {
+        return expenseIndex.statsByMonth(YearMonth.parse(yyyymm, formatter), category.ordinal());
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: return the count, sum, minimum and maximum of the incomes of a category in a given month
+    public CategoryStats statsByMonth(IncomeCategory category, String yyyymm) {
+        return incomeIndex.statsByMonth(YearMonth.parse(yyyymm, formatter), category.ordinal());
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm, k >= 0
+    // EFFECTS: return the k largest expenses or incomes of a given month and year, the largest first
+    public List<Record> topByMonth(String className, String yyyymm, int k) {
+        YearMonth month = YearMonth.parse(yyyymm, formatter);
+        return indexOf(className).top(month, month, k);
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm, k >= 0
+    // EFFECTS: return the k largest expenses or incomes from one month to another, both included, the largest first
+    public List<Record> topBetween(String className, String fromYyyymm, String toYyyymm, int k) {
+        return indexOf(className).top(YearMonth.parse(fromYyyymm, formatter),
+                YearMonth.parse(toYyyymm, formatter), k);
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm, k >= 0
+    // EFFECTS: return the k largest expenses of a category from one month to another, both included,
+    //  the largest first
+    public List<Record> topBetween(ExpenseCategory category, String fromYyyymm, String toYyyymm, int k) {
+        return expenseIndex.top(YearMonth.parse(fromYyyymm, formatter),
+                YearMonth.parse(toYyyymm, formatter), category.ordinal(), k);
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm, k >= 0
+    // EFFECTS: return the k largest incomes of a category from one month to another, both included,
+    //  the largest first
+    public List<Record> topBetween(IncomeCategory category, String fromYyyymm, String toYyyymm, int k) {
+        return incomeIndex.top(YearMonth.parse(fromYyyymm, formatter),
+                YearMonth.parse(toYyyymm, formatter), category.ordinal(), k);
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm
+    // EFFECTS: return a quantile sketch of the amounts of expenses or incomes from one month to another,
+    //  both included, e.g. sketchBetween("expense", m, m).quantile(0.9) is the p90 expense of month m
+    public QuantileSketch sketchBetween(String className, String fromYyyymm, String toYyyymm) {
+        return indexOf(className).sketch(YearMonth.parse(fromYyyymm, formatter),
+                YearMonth.parse(toYyyymm, formatter));
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm
+    // EFFECTS: return a quantile sketch of the amounts of the expenses of a category from one month to another,
+    //  both included
+    public QuantileSketch sketchBetween(ExpenseCategory category, String fromYyyymm, String toYyyymm) {
+        return expenseIndex.sketch(YearMonth.parse(fromYyyymm, formatter),
+                YearMonth.parse(toYyyymm, formatter), category.ordinal());
+    }
+
+    // REQUIRES: from and to must be in the format of yyyy-mm
+    // EFFECTS: return a quantile sketch of the amounts of the incomes of a category from one month to another,
+    //  both included
+    public QuantileSketch sketchBetween(IncomeCategory category, String fromYyyymm, String toYyyymm) {
+        return incomeIndex.sketch(YearMonth.parse(fromYyyymm, formatter),
+                YearMonth.parse(toYyyymm, formatter), category.ordinal());
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm, capCents > 0
+    // MODIFIES: this
+    // EFFECTS: sets a cap in cents on the expenses of a category (of all expenses if null) in a given month,
+    //  already consuming what the month holds, and returns the budget, which is kept consumed as expenses change
+    public Budget addBudget(ExpenseCategory category, String yyyymm, long capCents) {
+        YearMonth month = YearMonth.parse(yyyymm, formatter);
+        long consumed = category == null ? expenseIndex.totalByMonth(month)
+                : expenseIndex.statsByMonth(month, category.ordinal()).getSumCents();
+        return budgets.add(new Budget(month, category, capCents, consumed));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes a budget; return true if it was set on this balance sheet
+    public boolean removeBudget(Budget budget) {
+        return budgets.remove(budget);
+    }
+
+    // EFFECTS: return a read-only view of all expenses or incomes, ordered by timeID
+    public Collection<Record> recordsByTime(String className) {
+        return indexOf(className).recordsByTime();
+    }
+
     // REQUIRES: input must be in the format of yyyy-mm
     // EFFECTS: calculate the total expense of a given month and year
     public double totalExpenseByMonth(String yyyymm) {
-        List<Record> list = listByMonth("expense", yyyymm);
-        double total = 0.00;
-        for (Record record : list) {
-            total += record.getAmount();
-        }
-        return total;
+        return Money.toDollars(totalExpenseCentsByMonth(yyyymm));
     }
 
     // REQUIRES: input must be in the format of yyyy-mm
     // EFFECTS: calculate the total income of a given month and year
     public double totalIncomeByMonth(String yyyymm) {
-        List<Record> list = listByMonth("income", yyyymm);
-        double total = 0.00;
-        for (Record record : list) {
-            total += record.getAmount();
-        }
-        return total;
+        return Money.toDollars(totalIncomeCentsByMonth(yyyymm));
     }
 
     // REQUIRES: input must be in the format of yyyy-mm
     // EFFECTS: calculate the balance of a given month and year
     public double totalBalanceByMonth(String yyyymm) {
-        return this.totalIncomeByMonth(yyyymm) - this.totalExpenseByMonth(yyyymm);
+        return Money.toDollars(totalBalanceCentsByMonth(yyyymm));
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: calculate the total expense in cents of a given month and year
+    public long totalExpenseCentsByMonth(String yyyymm) {
+        return expenseIndex.totalByMonth(YearMonth.parse(yyyymm, formatter));
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: calculate the total income in cents of a given month and year
+    public long totalIncomeCentsByMonth(String yyyymm) {
+        return incomeIndex.totalByMonth(YearMonth.parse(yyyymm, formatter));
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: calculate the balance in cents of a given month and year
+    public long totalBalanceCentsByMonth(String yyyymm) {
+        return totalIncomeCentsByMonth(yyyymm) - totalExpenseCentsByMonth(yyyymm);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a read-only view of this balance sheet as it is now, in time proportional to
+    //  the number of segments rather than of records; later changes to this are not seen by it
+    //  the snapshot must be read on the thread that changes this, or while no change is under way
+    public BalanceSheetSnapshot snapshot() {
+        return new BalanceSheetSnapshot(expenseList.snapshot(), incomeList.snapshot(),
+                calTotalExpenseCents(), calTotalIncomeCents());
     }
 
     // EFFECTS: returns this as JSON object
     public JSONObject toJson() {
-        JSONObject json = new JSONObject();
-        json.put("expenses", expenseListToJson());
-        json.put("incomes", incomeListToJson());
+        return snapshot().toJson();
+    }
+
+    // EFFECTS: calculates the total expense
+    public double calTotalExpense() {
+        return Money.toDollars(calTotalExpenseCents());
+    }
+
+    // EFFECTS: calculates the total income
+    public double calTotalIncome() {
+        return Money.toDollars(calTotalIncomeCents());
+    }
 
-        return json;
+    // EFFECTS: calculates the balance amount
+    public double calBalance() {
+        return Money.toDollars(calBalanceCents());
+    }
+
+    // EFFECTS: calculates the total expense in cents
+    public long calTotalExpenseCents() {
+        return expenseIndex.getTotal();
+    }
+
+    // EFFECTS: calculates the total income in cents
+    public long calTotalIncomeCents() {
+        return incomeIndex.getTotal();
     }
 
-    // EFFECTS: returns expenses in this balance sheet as a JSON array
-    private JSONArray expenseListToJson() {
-        JSONArray expenseJsonArray = new JSONArray();
+    // EFFECTS: calculates the balance amount in cents
+    public long calBalanceCents() {
+        return calTotalIncomeCents() - calTotalExpenseCents();
+    }
 
-        for (Record expense : expenseList) {
-            expenseJsonArray.put(expense.toJson());
+    // EFFECTS: recomputes from scratch the total expense or income in cents of each month that has records,
+    //  splitting the work by month over the aggregator's fork/join pool when there are enough records
+    public NavigableMap<YearMonth, Long> recomputeTotalsByMonth(String className, ParallelAggregator aggregator) {
+        return indexOf(className).recomputeTotalsByMonth(aggregator);
+    }
+
+    // EFFECTS: recomputes from scratch the total expense or income in cents, split by month as above
+    public long recomputeTotalCents(String className, ParallelAggregator aggregator) {
+        long total = 0;
+        for (long monthTotal : recomputeTotalsByMonth(className, aggregator).values()) {
+            total += monthTotal;
         }
+        return total;
+    }
+
+    // EFFECTS: returns true if the running totals match a full recomputation over all records
+    public boolean isConsistent() {
+        return expenseIndex.isConsistentWith(expenseList) && incomeIndex.isConsistentWith(incomeList);
+    }
 
-        return expenseJsonArray;
+    // EFFECTS: calculates the number of records
+    public int calNumOfRecords() {
+        return expenseList.size() + incomeList.size();
     }
 
-    // EFFECTS: returns incomes in this balance sheet as a JSON array
-    private JSONArray incomeListToJson() {
-        JSONArray incomeJsonArray = new JSONArray();
+    // EFFECTS: returns a columnar copy of all expenses followed by all incomes of this balance sheet
+    public ColumnarRecordStore toColumnarStore() {
+        ColumnarRecordStore store = new ColumnarRecordStore(Math.max(1, calNumOfRecords()));
+        store.addAll(expenseList);
+        store.addAll(incomeList);
+        return store;
+    }
 
-        for (Record income : incomeList) {
-            incomeJsonArray.put(income.toJson());
+    // MODIFIES: this
+    // EFFECTS: if the record is in this balance sheet and about to be edited, makes every snapshot
+    //  still sharing it see a copy of it as it is now
+    private void preserve(Record record) {
+        SegmentedRecordList list = record.getClass() == Expense.class ? expenseList : incomeList;
+        if (list.isShared(record)) {
+            list.freeze(record, ((Expense) record).copy());
         }
+    }
 
-        return incomeJsonArray;
+    // MODIFIES: this
+    // EFFECTS: passes a change of deltaCents in the expenses of the record's month and category
+    //  to the budgets, if the record is an expense
+    private void budget(Record record, long deltaCents) {
+        if (record.getClass() == Expense.class) {
+            budgets.apply(YearMonth.from(record.getDateTime()), record.getCategoryOrdinal(), deltaCents);
+        }
     }
 
-    // EFFECTS: calculates the total expense
-    public double calTotalExpense() {
-        double totalExpense = 0;
-        for (Record expense : expenseList) {
-            totalExpense += expense.getAmount();
+    // MODIFIES: this
+    // EFFECTS: passes to the budgets the move of the amount of a recorded expense from the month of
+    //  previousDateTime and the category with previousOrdinal to its current month and category
+    private void moveBudget(Record record, LocalDateTime previousDateTime, int previousOrdinal) {
+        if (record.getClass() == Expense.class && isRecorded(record)) {
+            budgets.move(YearMonth.from(previousDateTime), previousOrdinal,
+                    YearMonth.from(record.getDateTime()), record.getCategoryOrdinal(), record.getAmountCents());
         }
-        return totalExpense;
     }
 
-    // EFFECTS: calculates the total expense
-    public double calTotalIncome() {
-        double totalIncome = 0;
-        for (Record income : incomeList) {
-            totalIncome += income.getAmount();
+    // EFFECTS: returns the index kept over the kind of the given record
+    private RecordIndex indexOf(Record record) {
+        if (record.getClass() == Expense.class) {
+            return expenseIndex;
         }
-        return totalIncome;
+        return incomeIndex;
     }
 
-    // EFFECTS: calculates the balance amount
-    public double calBalance() {
-        return calTotalIncome() - calTotalExpense();
+    // EFFECTS: returns the index kept over expenses if className is "expense", or over incomes otherwise
+    private RecordIndex indexOf(String className) {
+        if ("expense".equals(className)) {
+            return expenseIndex;
+        }
+        return incomeIndex;
     }
 
-    // EFFECTS: calculates the number of records
-    public int calNumOfRecords() {
-        return expenseList.size() + incomeList.size();
+    // REQUIRES: date must be in the format of yyyy-mm-dd
+    // EFFECTS: returns the smallest timeID of the given day
+    private static long startOf(String date) {
+        return TimeID.startOf(LocalDate.parse(date));
+    }
+
+    // REQUIRES: date must be in the format of yyyy-mm-dd
+    // EFFECTS: returns the smallest timeID of the day after the given day
+    private static long endOf(String date) {
+        return TimeID.startOf(LocalDate.parse(date).plusDays(1));
+    }
+
+    public BudgetEngine getBudgets() {
+        return budgets;
     }
 
+    // EFFECTS: returns a read-only view of the expenses; add, delete and edit them through this balance sheet
     public List<Record> getExpenseList() {
-        return expenseList;
+        return Collections.unmodifiableList(expenseList);
     }
 
+    // EFFECTS: returns a read-only view of the incomes; add, delete and edit them through this balance sheet
     public List<Record> getIncomeList() {
-        return incomeList;
+        return Collections.unmodifiableList(incomeList);
     }
 
 }
@@ -0,0 +1,91 @@
+package model;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+// Represents a read-only view of a balance sheet at one point in time
+//   it shares its records with the balance sheet it was taken from; records later added, deleted
+//   or edited through that balance sheet are not seen, so it can be reported on or saved while
+//   the balance sheet keeps changing
+//   records are edited in place and only copied for snapshots just before an edit, so a snapshot is
+//   single-threaded: read it on the thread that edits the balance sheet, or while no edit is under way
+public class BalanceSheetSnapshot {
+    private final List<Record> expenseList;
+    private final List<Record> incomeList;
+    private final long totalExpenseCents;
+    private final long totalIncomeCents;
+
+    // EFFECTS: constructs a view of the given records and totals, which must not change afterwards
+    public BalanceSheetSnapshot(List<Record> expenseList, List<Record> incomeList,
+                                long totalExpenseCents, long totalIncomeCents) {
+        this.expenseList = expenseList;
+        this.incomeList = incomeList;
+        this.totalExpenseCents = totalExpenseCents;
+        this.totalIncomeCents = totalIncomeCents;
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: return a list of expense or income of a given month and year
+    public List<Record> listByMonth(String className, String yyyymm) {
+        YearMonth month = YearMonth.parse(yyyymm);
+        List<Record> res = new ArrayList<>();
+        for (Record record : "expense".equals(className) ? expenseList : incomeList) {
+            if (RecordIndex.monthOf(record).equals(month)) {
+                res.add(record);
+            }
+        }
+        return res;
+    }
+
+    // EFFECTS: returns this as JSON object
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("expenses", listToJson(expenseList));
+        json.put("incomes", listToJson(incomeList));
+
+        return json;
+    }
+
+    // EFFECTS: returns the given records as a JSON array
+    private static JSONArray listToJson(List<Record> records) {
+        JSONArray jsonArray = new JSONArray();
+
+        for (Record record : records) {
+            jsonArray.put(record.toJson());
+        }
+
+        return jsonArray;
+    }
+
+    // EFFECTS: calculates the total expense in cents
+    public long calTotalExpenseCents() {
+        return totalExpenseCents;
+    }
+
+    // EFFECTS: calculates the total income in cents
+    public long calTotalIncomeCents() {
+        return totalIncomeCents;
+    }
+
+    // EFFECTS: calculates the balance amount in cents
+    public long calBalanceCents() {
+        return totalIncomeCents - totalExpenseCents;
+    }
+
+    // EFFECTS: calculates the number of records
+    public int calNumOfRecords() {
+        return expenseList.size() + incomeList.size();
+    }
+
+    public List<Record> getExpenseList() {
+        return expenseList;
+    }
+
+    public List<Record> getIncomeList() {
+        return incomeList;
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import java.time.YearMonth;
+
+// Represents a monthly cap on the expenses of one category, or of all expenses if its category is null,
+//   with the amount consumed so far in cents and how many of the thresholds of its engine it has reached
+//   the amount consumed is kept by a BudgetEngine as expenses are added, deleted and edited
+public class Budget {
+    private final YearMonth month;
+    private final ExpenseCategory category;
+    private final long capCents;
+    private long consumedCents;
+    private int level;
+
+    // REQUIRES: capCents > 0
+    // EFFECTS: constructs a budget of capCents for the expenses of a category (all expenses if null) in a month,
+    //  of which consumedCents are already consumed
+    public Budget(YearMonth month, ExpenseCategory category, long capCents, long consumedCents) {
+        this.month = month;
+        this.category = category;
+        this.capCents = capCents;
+        this.consumedCents = consumedCents;
+        this.level = 0;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    // EFFECTS: returns the category of this budget, or null if it caps all expenses
+    public ExpenseCategory getCategory() {
+        return category;
+    }
+
+    public long getCapCents() {
+        return capCents;
+    }
+
+    public long getConsumedCents() {
+        return consumedCents;
+    }
+
+    // EFFECTS: returns the cents left before the cap, negative once over it
+    public long getRemainingCents() {
+        return capCents - consumedCents;
+    }
+
+    // EFFECTS: returns true if the percentage of the cap consumed is at least percent
+    public boolean hasReached(int percent) {
+        return consumedCents * 100 >= capCents * percent;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds deltaCents, possibly negative, to the amount consumed
+    void consume(long deltaCents) {
+        consumedCents += deltaCents;
+    }
+
+    // EFFECTS: returns the number of thresholds of the engine this budget has reached, as last recorded
+    int getLevel() {
+        return level;
+    }
+
+    // MODIFIES: this
+    void setLevel(int level) {
+        this.level = level;
+    }
+}
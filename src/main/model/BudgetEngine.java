@@ -0,0 +1,166 @@
+package model;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Represents the budgets set on expenses, kept up to date as expenses change
+//   budgets are indexed by month, then in slots by category: slot 0 for budgets on all expenses,
+//   slot ordinal + 1 for budgets on each category, so a change to one expense only touches the budgets
+//   of its month and category, in constant time however many budgets and records there are
+//   when a change makes a budget reach one of the thresholds (by default 80% and 100% of its cap),
+//   each listener is notified and an event is logged; falling back below a threshold re-arms it silently
+public class BudgetEngine {
+    private static final int[] DEFAULT_THRESHOLDS = {80, 100};
+
+    private final int[] thresholds;
+    private final Map<YearMonth, List<List<Budget>>> budgets;
+    private final List<BudgetListener> listeners;
+    private final int numOfSlots;
+
+    // EFFECTS: constructs an engine with no budgets notifying at the default thresholds
+    public BudgetEngine() {
+        this(DEFAULT_THRESHOLDS);
+    }
+
+    // REQUIRES: thresholds are percentages in ascending order
+    // EFFECTS: constructs an engine with no budgets notifying at the given thresholds
+    public BudgetEngine(int[] thresholds) {
+        this.thresholds = thresholds.clone();
+        this.budgets = new HashMap<>();
+        this.listeners = new ArrayList<>();
+        this.numOfSlots = ExpenseCategory.values().length + 1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a budget and returns it; the thresholds it already reached are recorded without notifying
+    public Budget add(Budget budget) {
+        budget.setLevel(levelOf(budget, 0));
+        slotsOf(budget.getMonth()).get(slotOf(budget.getCategory())).add(budget);
+        return budget;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes this very budget; return true if it was in this engine
+    public boolean remove(Budget budget) {
+        List<List<Budget>> slots = budgets.get(budget.getMonth());
+        if (slots == null) {
+            return false;
+        }
+        List<Budget> slot = slots.get(slotOf(budget.getCategory()));
+        for (int i = 0; i < slot.size(); i++) {
+            if (slot.get(i) == budget) {
+                slot.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: returns the budgets of a given month, those on all expenses first, then by category
+    public List<Budget> budgetsOf(YearMonth month) {
+        List<Budget> res = new ArrayList<>();
+        List<List<Budget>> slots = budgets.get(month);
+        if (slots != null) {
+            for (List<Budget> slot : slots) {
+                res.addAll(slot);
+            }
+        }
+        return res;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a listener notified whenever a budget reaches a threshold
+    public void addListener(BudgetListener listener) {
+        listeners.add(listener);
+    }
+
+    // MODIFIES: this, budgets of the given month
+    // EFFECTS: adds deltaCents, possibly negative, to the budgets of a month on all expenses and on the category
+    //  with the given ordinal (none for an unclassified expense), notifying of every threshold reached
+    public void apply(YearMonth month, int categoryOrdinal, long deltaCents) {
+        consume(month, 0, deltaCents);
+        if (categoryOrdinal >= 0) {
+            consume(month, categoryOrdinal + 1, deltaCents);
+        }
+    }
+
+    // MODIFIES: this, budgets of the given months
+    // EFFECTS: moves cents of expenses from one month and category to another, as apply would for
+    //  -cents then cents, but leaving alone the budgets covering both, so they are never notified
+    //  of reaching again a threshold they already reached
+    public void move(YearMonth fromMonth, int fromOrdinal, YearMonth toMonth, int toOrdinal, long cents) {
+        if (!fromMonth.equals(toMonth)) {
+            apply(fromMonth, fromOrdinal, -cents);
+            apply(toMonth, toOrdinal, cents);
+        } else if (fromOrdinal != toOrdinal) {
+            if (fromOrdinal >= 0) {
+                consume(fromMonth, fromOrdinal + 1, -cents);
+            }
+            if (toOrdinal >= 0) {
+                consume(toMonth, toOrdinal + 1, cents);
+            }
+        }
+    }
+
+    // MODIFIES: this, budgets of the given month
+    // EFFECTS: adds deltaCents to each budget of the given slot of a month, notifying of every threshold
+    //  it newly reaches
+    private void consume(YearMonth month, int slot, long deltaCents) {
+        List<List<Budget>> slots = budgets.get(month);
+        if (deltaCents == 0 || slots == null) {
+            return;
+        }
+        for (Budget budget : slots.get(slot)) {
+            budget.consume(deltaCents);
+            int previous = budget.getLevel();
+            int level = levelOf(budget, previous);
+            budget.setLevel(level);
+            for (int i = previous; i < level; i++) {
+                notifyReached(budget, thresholds[i]);
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of thresholds the budget reaches, moving from the given level
+    //  one threshold at a time
+    private int levelOf(Budget budget, int from) {
+        int level = from;
+        while (level < thresholds.length && budget.hasReached(thresholds[level])) {
+            level++;
+        }
+        while (level > 0 && !budget.hasReached(thresholds[level - 1])) {
+            level--;
+        }
+        return level;
+    }
+
+    // EFFECTS: notifies every listener and logs an event that the budget reached percent percent of its cap
+    private void notifyReached(Budget budget, int percent) {
+        int of = budget.getCategory() == null ? Event.NO_CATEGORY : budget.getCategory().ordinal();
+        EventLog.getInstance().logEvent(EventType.BUDGET_REACHED, 0, EventType.monthCode(budget.getMonth()),
+                percent, of);
+        for (BudgetListener listener : listeners) {
+            listener.thresholdReached(budget, percent);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the slots of budgets of a month, creating them if needed
+    private List<List<Budget>> slotsOf(YearMonth month) {
+        return budgets.computeIfAbsent(month, m -> {
+            List<List<Budget>> slots = new ArrayList<>(numOfSlots);
+            for (int i = 0; i < numOfSlots; i++) {
+                slots.add(new ArrayList<>());
+            }
+            return slots;
+        });
+    }
+
+    // EFFECTS: returns the slot of budgets on the given category, or on all expenses if it is null
+    private static int slotOf(ExpenseCategory category) {
+        return category == null ? 0 : category.ordinal() + 1;
+    }
+}
@@ -0,0 +1,8 @@
+package model;
+
+// Represents something notified when a budget reaches one of the thresholds of its engine
+public interface BudgetListener {
+
+    // EFFECTS: handles the budget having just reached percent percent of its cap
+    void thresholdReached(Budget budget, int percent);
+}
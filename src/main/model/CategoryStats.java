@@ -0,0 +1,49 @@
+package model;
+
+// Represents the count, sum, minimum and maximum amount in cents of the records of one category
+//   over some months; the minimum and maximum of no records are both 0
+public final class CategoryStats {
+    public static final CategoryStats EMPTY = new CategoryStats(0, 0, 0, 0);
+
+    private final int count;
+    private final long sumCents;
+    private final long minCents;
+    private final long maxCents;
+
+    // REQUIRES: count >= 0, and minCents <= maxCents if count > 0
+    // EFFECTS: constructs the statistics of count records
+    public CategoryStats(int count, long sumCents, long minCents, long maxCents) {
+        this.count = count;
+        this.sumCents = sumCents;
+        this.minCents = minCents;
+        this.maxCents = maxCents;
+    }
+
+    // EFFECTS: returns the statistics of the records counted either by this or by other
+    public CategoryStats merge(CategoryStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        return new CategoryStats(count + other.count, sumCents + other.sumCents,
+                Math.min(minCents, other.minCents), Math.max(maxCents, other.maxCents));
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getSumCents() {
+        return sumCents;
+    }
+
+    public long getMinCents() {
+        return minCents;
+    }
+
+    public long getMaxCents() {
+        return maxCents;
+    }
+}
@@ -0,0 +1,281 @@
+package model;
+
+import org.json.JSONObject;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// Represents a storage engine that keeps expense and income records in parallel primitive columns
+//   (recordID, date as days since 1970-01-01 and time as nanoseconds of the day, so nothing of the date and time
+//   is lost, amount in cents, category ordinal, and a bitset marking incomes) instead of one object per record;
+//   records are read and edited through lightweight Record views, which keep the recordID of the record copied
+public class ColumnarRecordStore {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte UNCLASSIFIED = -1;
+    private static final ExpenseCategory[] EXPENSE_CATEGORIES = ExpenseCategory.values();
+    private static final IncomeCategory[] INCOME_CATEGORIES = IncomeCategory.values();
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private int[] recordIDs;
+    private long[] epochDays;
+    private long[] nanosOfDay;
+    private long[] amountCents;
+    private byte[] categories;
+    private long[] incomeBits;
+    private int size;
+
+    public ColumnarRecordStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    // REQUIRES: capacity > 0
+    // EFFECTS: constructs an empty store with room for capacity records before growing
+    public ColumnarRecordStore(int capacity) {
+        recordIDs = new int[capacity];
+        epochDays = new long[capacity];
+        nanosOfDay = new long[capacity];
+        amountCents = new long[capacity];
+        categories = new byte[capacity];
+        incomeBits = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+        size = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the fields of a record into a new row and returns the row number
+    public int add(Record record) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        recordIDs[row] = record.getRecordID();
+        setDateTime(row, record.getDateTime());
+        amountCents[row] = record.getAmountCents();
+        categories[row] = (byte) record.getCategoryOrdinal();
+        if (record.getClass() == Income.class) {
+            incomeBits[row / Long.SIZE] |= 1L << row;
+        }
+        return row;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies all records into new rows
+    public void addAll(List<Record> records) {
+        ensureCapacity(size + records.size());
+        for (Record record : records) {
+            add(record);
+        }
+    }
+
+    // REQUIRES: 0 <= row < size()
+    // EFFECTS: returns a view of the given row; edits through the view are written to this store
+    public Record get(int row) {
+        return new RecordView(row);
+    }
+
+    // EFFECTS: returns a read-only list of views over all rows
+    public List<Record> asList() {
+        return new AbstractList<Record>() {
+            @Override
+            public Record get(int row) {
+                return ColumnarRecordStore.this.get(row);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns true if the given row holds an income
+    public boolean isIncome(int row) {
+        return (incomeBits[row / Long.SIZE] & (1L << row)) != 0;
+    }
+
+    // EFFECTS: returns the total amount in cents of all incomes if income is true, or of all expenses otherwise
+    public long sumCents(boolean income) {
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            if (isIncome(row) == income) {
+                total += amountCents[row];
+            }
+        }
+        return total;
+    }
+
+    // EFFECTS: returns the total amount in cents of the incomes (or expenses) dated from the day from up to,
+    //  but excluding, the day to
+    public long sumCents(boolean income, LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        long total = 0;
+        for (int row = 0; row < size; row++) {
+            long day = epochDays[row];
+            if (day >= fromDay && day < toDay && isIncome(row) == income) {
+                total += amountCents[row];
+            }
+        }
+        return total;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the date and time of the given row
+    private void setDateTime(int row, LocalDateTime dateTime) {
+        epochDays[row] = dateTime.toLocalDate().toEpochDay();
+        nanosOfDay[row] = dateTime.toLocalTime().toNanoOfDay();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: grows every column so that it can hold at least minCapacity rows
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= recordIDs.length) {
+            return;
+        }
+        int capacity = Math.max(minCapacity, recordIDs.length * 2);
+        recordIDs = Arrays.copyOf(recordIDs, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        nanosOfDay = Arrays.copyOf(nanosOfDay, capacity);
+        amountCents = Arrays.copyOf(amountCents, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        incomeBits = Arrays.copyOf(incomeBits, (capacity + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    // Represents one row of the store seen as a record; it holds nothing but the row number and a tempID
+    private class RecordView implements Record {
+        private final int row;
+        private int tempID;
+
+        RecordView(int row) {
+            this.row = row;
+            this.tempID = 0;
+        }
+
+        @Override
+        public void setTempID(int id) {
+            tempID = id;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds a category to the row; incomes keep their own category
+        @Override
+        public void classify(ExpenseCategory expenseCategory) {
+            if (!isIncome(row)) {
+                categories[row] = (byte) expenseCategory.ordinal();
+            }
+        }
+
+        @Override
+        public void resetAmount(double amount) {
+            amountCents[row] = Money.toCents(amount);
+        }
+
+        @Override
+        public void resetAmountCents(long cents) {
+            amountCents[row] = cents;
+        }
+
+        @Override
+        public void resetDate(String newDate) {
+            epochDays[row] = LocalDate.parse(newDate, DATE_FORMATTER).toEpochDay();
+        }
+
+        @Override
+        public void resetDateTime(LocalDateTime dateTime) {
+            setDateTime(row, dateTime);
+        }
+
+        @Override
+        public JSONObject toJson() {
+            JSONObject jsonObject = new JSONObject();
+            jsonObject.put("amount", Money.toDecimal(amountCents[row]));
+            jsonObject.put("category", categories[row] == UNCLASSIFIED ? null : getCategoryName());
+            jsonObject.put("dateTime", getDateTime().toString());
+            return jsonObject;
+        }
+
+        @Override
+        public int getTempID() {
+            return tempID;
+        }
+
+        // EFFECTS: returns the recordID of the record copied into the row
+        @Override
+        public int getRecordID() {
+            return recordIDs[row];
+        }
+
+        @Override
+        public long getTimeID() {
+            return TimeID.of(getDateTime());
+        }
+
+        @Override
+        public double getAmount() {
+            return Money.toDollars(amountCents[row]);
+        }
+
+        @Override
+        public long getAmountCents() {
+            return amountCents[row];
+        }
+
+        @Override
+        public int getMonth() {
+            return getDateTime().getMonthValue();
+        }
+
+        @Override
+        public int getYear() {
+            return getDateTime().getYear();
+        }
+
+        @Override
+        public String getDate() {
+            return getDateTime().format(DATE_FORMATTER);
+        }
+
+        @Override
+        public String getCategoryName() {
+            if (isIncome(row)) {
+                return INCOME_CATEGORIES[categories[row]].name();
+            }
+            return EXPENSE_CATEGORIES[categories[row]].name();
+        }
+
+        @Override
+        public int getCategoryOrdinal() {
+            return categories[row];
+        }
+
+        @Override
+        public LocalDateTime getDateTime() {
+            return LocalDateTime.of(LocalDate.ofEpochDay(epochDays[row]), LocalTime.ofNanoOfDay(nanosOfDay[row]));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == null || other.getClass() != getClass()) {
+                return false;
+            }
+            RecordView otherView = (RecordView) other;
+            return row == otherView.row && store() == otherView.store();
+        }
+
+        @Override
+        public int hashCode() {
+            return row;
+        }
+
+        // EFFECTS: returns the store this view reads from
+        private ColumnarRecordStore store() {
+            return ColumnarRecordStore.this;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Represents a balance sheet that several threads may add to, edit and read at once
+//   records are partitioned by month into stripes, each a balance sheet guarded by its own lock,
+//   so writers to months of different stripes never wait for each other
+//   the totals of all stripes are kept together in one immutable value swapped atomically
+//   while the stripe changed is still locked, so a reader, without taking any lock, always sees
+//   the expense total, the income total and the number of records of one same point in time
+public class ConcurrentBalanceSheet {
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final BalanceSheet[] stripes;
+    private final ReentrantLock[] locks;
+    private final AtomicReference<Totals> totals;
+
+    // EFFECTS: constructs an empty balance sheet with the default number of stripes
+    public ConcurrentBalanceSheet() {
+        this(DEFAULT_STRIPES);
+    }
+
+    // REQUIRES: numOfStripes > 0
+    // EFFECTS: constructs an empty balance sheet partitioned into numOfStripes stripes
+    public ConcurrentBalanceSheet(int numOfStripes) {
+        stripes = new BalanceSheet[numOfStripes];
+        locks = new ReentrantLock[numOfStripes];
+        for (int i = 0; i < numOfStripes; i++) {
+            stripes[i] = new BalanceSheet();
+            locks[i] = new ReentrantLock();
+        }
+        totals = new AtomicReference<>(new Totals(0, 0, 0));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: add a record to the stripe of its month
+    //  return true if added successfully, false if the record is already in the balance sheet
+    public boolean addRecord(Record record) {
+        int stripe = lockStripeOf(record);
+        try {
+            if (!stripes[stripe].addRecord(record)) {
+                return false;
+            }
+            count(record, record.getAmountCents(), 1);
+            return true;
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every record not yet in the balance sheet, locking each stripe once
+    //  and updating the totals once per stripe; return the number of records added
+    public int addRecords(Collection<? extends Record> records) {
+        List<List<Record>> byStripe = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            byStripe.add(new ArrayList<>());
+        }
+        for (Record record : records) {
+            byStripe.get(stripeOf(RecordIndex.monthOf(record))).add(record);
+        }
+        int added = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            if (!byStripe.get(i).isEmpty()) {
+                added += addToStripe(i, byStripe.get(i));
+            }
+        }
+        return added;
+    }
+
+    // REQUIRES: the date of the record was not changed other than through this balance sheet
+    // MODIFIES: this
+    // EFFECTS: delete one expense or income record from the balance sheet
+    public void deleteRecord(Record record) {
+        int stripe = lockStripeOf(record);
+        try {
+            if (!stripes[stripe].isRecorded(record)) {
+                return;
+            }
+            stripes[stripe].deleteRecord(record);
+            count(record, -record.getAmountCents(), -1);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // MODIFIES: this, record
+    // EFFECTS: resets the amount in cents of a record and updates the totals
+    public void resetAmountCents(Record record, long amountCents) {
+        int stripe = lockStripeOf(record);
+        try {
+            if (stripes[stripe].isRecorded(record)) {
+                count(record, amountCents - record.getAmountCents(), 0);
+            }
+            stripes[stripe].resetAmountCents(record, amountCents);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // REQUIRES: the format of date must be yyyy-mm-dd
+    // MODIFIES: this, record
+    // EFFECTS: resets the date of a record, moving it to the stripe of its new month if needed
+    public void resetDate(Record record, String date) {
+        int to = stripeOf(YearMonth.from(LocalDate.parse(date)));
+        int from = lockStripesOf(record, to);
+        ReentrantLock first = locks[Math.min(from, to)];
+        ReentrantLock second = locks[Math.max(from, to)];
+        try {
+            if (from == to || !stripes[from].isRecorded(record)) {
+                stripes[from].resetDate(record, date);
+                return;
+            }
+            stripes[from].deleteRecord(record);
+            record.resetDate(date);
+            stripes[to].addRecord(record);
+        } finally {
+            second.unlock();
+            first.unlock();
+        }
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: return a list of expense or income of a given month and year
+    public List<Record> listByMonth(String className, String yyyymm) {
+        int stripe = stripeOf(YearMonth.parse(yyyymm));
+        locks[stripe].lock();
+        try {
+            return stripes[stripe].listByMonth(className, yyyymm);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: calculate the total expense in cents of a given month and year
+    public long totalExpenseCentsByMonth(String yyyymm) {
+        int stripe = stripeOf(YearMonth.parse(yyyymm));
+        locks[stripe].lock();
+        try {
+            return stripes[stripe].totalExpenseCentsByMonth(yyyymm);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // REQUIRES: input must be in the format of yyyy-mm
+    // EFFECTS: calculate the total income in cents of a given month and year
+    public long totalIncomeCentsByMonth(String yyyymm) {
+        int stripe = stripeOf(YearMonth.parse(yyyymm));
+        locks[stripe].lock();
+        try {
+            return stripes[stripe].totalIncomeCentsByMonth(yyyymm);
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // EFFECTS: calculates the total expense in cents
+    public long calTotalExpenseCents() {
+        return totals.get().expenseCents;
+    }
+
+    // EFFECTS: calculates the total income in cents
+    public long calTotalIncomeCents() {
+        return totals.get().incomeCents;
+    }
+
+    // EFFECTS: calculates the balance amount in cents, from totals of one same point in time
+    public long calBalanceCents() {
+        Totals current = totals.get();
+        return current.incomeCents - current.expenseCents;
+    }
+
+    // EFFECTS: calculates the number of records
+    public int calNumOfRecords() {
+        return totals.get().numOfRecords;
+    }
+
+    // EFFECTS: returns a balance sheet holding copies of the records of every stripe, taken while all stripes
+    //  are locked; later changes to either balance sheet are not seen by the other
+    public BalanceSheet toBalanceSheet() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            List<Record> records = new ArrayList<>(totals.get().numOfRecords);
+            for (BalanceSheet stripe : stripes) {
+                stripe.getExpenseList().forEach(record -> records.add(((Expense) record).copy()));
+                stripe.getIncomeList().forEach(record -> records.add(((Expense) record).copy()));
+            }
+            BalanceSheet copy = new BalanceSheet();
+            copy.addRecords(records);
+            return copy;
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // EFFECTS: returns true if the totals match those of the stripes, while all stripes are locked
+    public boolean isConsistent() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            long expenseCents = 0;
+            long incomeCents = 0;
+            int numOfRecords = 0;
+            for (BalanceSheet stripe : stripes) {
+                expenseCents += stripe.calTotalExpenseCents();
+                incomeCents += stripe.calTotalIncomeCents();
+                numOfRecords += stripe.calNumOfRecords();
+            }
+            Totals current = totals.get();
+            return current.expenseCents == expenseCents && current.incomeCents == incomeCents
+                    && current.numOfRecords == numOfRecords;
+        } finally {
+            for (ReentrantLock lock : locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds records of the given stripe's months to it and counts those added in the totals
+    //  return the number of records added
+    private int addToStripe(int stripe, List<Record> records) {
+        locks[stripe].lock();
+        try {
+            BalanceSheet sheet = stripes[stripe];
+            long expenseCents = sheet.calTotalExpenseCents();
+            long incomeCents = sheet.calTotalIncomeCents();
+            int added = sheet.addRecords(records);
+            long expenseAdded = sheet.calTotalExpenseCents() - expenseCents;
+            long incomeAdded = sheet.calTotalIncomeCents() - incomeCents;
+            totals.updateAndGet(t -> new Totals(t.expenseCents + expenseAdded, t.incomeCents + incomeAdded,
+                    t.numOfRecords + added));
+            return added;
+        } finally {
+            locks[stripe].unlock();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: atomically adds cents to the total of the kind of the record, and records to the number of records
+    private void count(Record record, long cents, int records) {
+        boolean isExpense = record.getClass() == Expense.class;
+        totals.updateAndGet(t -> new Totals(isExpense ? t.expenseCents + cents : t.expenseCents,
+                isExpense ? t.incomeCents : t.incomeCents + cents, t.numOfRecords + records));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: locks the stripe of the record's month and returns it, checking once it is locked that
+    //  the record was not moved to another stripe meanwhile
+    private int lockStripeOf(Record record) {
+        while (true) {
+            int stripe = stripeOf(RecordIndex.monthOf(record));
+            locks[stripe].lock();
+            if (stripe == stripeOf(RecordIndex.monthOf(record))) {
+                return stripe;
+            }
+            locks[stripe].unlock();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: locks the stripe of the record's month and the stripe to, in stripe order so that threads
+    //  never wait for each other in a cycle, and returns the stripe of the record's month, checking once
+    //  both are locked that the record was not moved to another stripe meanwhile
+    private int lockStripesOf(Record record, int to) {
+        while (true) {
+            int from = stripeOf(RecordIndex.monthOf(record));
+            locks[Math.min(from, to)].lock();
+            locks[Math.max(from, to)].lock();
+            if (from == stripeOf(RecordIndex.monthOf(record))) {
+                return from;
+            }
+            locks[Math.max(from, to)].unlock();
+            locks[Math.min(from, to)].unlock();
+        }
+    }
+
+    // EFFECTS: returns the stripe holding the records of the given month
+    private int stripeOf(YearMonth month) {
+        return Math.floorMod(month.getYear() * 12 + month.getMonthValue(), stripes.length);
+    }
+
+    // Represents the totals of the balance sheet at one point in time
+    private static final class Totals {
+        private final long expenseCents;
+        private final long incomeCents;
+        private final int numOfRecords;
+
+        Totals(long expenseCents, long incomeCents, int numOfRecords) {
+            this.expenseCents = expenseCents;
+            this.incomeCents = incomeCents;
+            this.numOfRecords = numOfRecords;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Represents amounts in cents summed per day, stored sparsely as segments of SEGMENT_DAYS consecutive days,
+//   each a Fenwick (binary indexed) tree that also keeps the total of its segment, created only once a day
+//   of the segment is added to; memory is so proportional to the segments holding data, not to the range of dates,
+//   and any day a LocalDate can carry fits
+//   adding to a day takes O(log SEGMENT_DAYS + log segments); summing a range of days takes
+//   O(log SEGMENT_DAYS + log segments) plus one step per non-empty segment strictly inside the range
+public class DailySumTree {
+    static final int SEGMENT_DAYS = 1024;
+
+    // segment number (days since 1970-01-01 floor-divided by SEGMENT_DAYS) -> its Fenwick tree over
+    //   its days, slot 0 holding the total of the segment
+    private final TreeMap<Long, long[]> segments;
+
+    public DailySumTree() {
+        segments = new TreeMap<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds cents to the sum of the given day (counted in days since 1970-01-01)
+    public void add(long epochDay, long cents) {
+        if (cents == 0) {
+            return;
+        }
+        long[] tree = segments.computeIfAbsent(Math.floorDiv(epochDay, SEGMENT_DAYS), s -> new long[SEGMENT_DAYS + 1]);
+        tree[0] += cents;
+        for (int i = Math.floorMod(epochDay, SEGMENT_DAYS) + 1; i <= SEGMENT_DAYS; i += i & -i) {
+            tree[i] += cents;
+        }
+    }
+
+    // EFFECTS: returns the sum of all days from fromDay to toDay, both included
+    public long sum(long fromDay, long toDay) {
+        if (fromDay > toDay) {
+            return 0;
+        }
+        long fromSegment = Math.floorDiv(fromDay, SEGMENT_DAYS);
+        long toSegment = Math.floorDiv(toDay, SEGMENT_DAYS);
+        int fromOffset = Math.floorMod(fromDay, SEGMENT_DAYS);
+        int toOffset = Math.floorMod(toDay, SEGMENT_DAYS);
+        if (fromSegment == toSegment) {
+            long[] tree = segments.get(fromSegment);
+            return tree == null ? 0 : within(tree, toOffset) - within(tree, fromOffset - 1);
+        }
+        long sum = 0;
+        long[] first = segments.get(fromSegment);
+        if (first != null) {
+            sum += first[0] - within(first, fromOffset - 1);
+        }
+        for (long[] tree : segments.subMap(fromSegment, false, toSegment, false).values()) {
+            sum += tree[0];
+        }
+        long[] last = segments.get(toSegment);
+        return last == null ? sum : sum + within(last, toOffset);
+    }
+
+    // EFFECTS: returns the sum of all days up to and including the given day
+    public long prefix(long epochDay) {
+        long segment = Math.floorDiv(epochDay, SEGMENT_DAYS);
+        long sum = 0;
+        for (Map.Entry<Long, long[]> entry : segments.headMap(segment, true).entrySet()) {
+            long[] tree = entry.getValue();
+            sum += entry.getKey() == segment ? within(tree, Math.floorMod(epochDay, SEGMENT_DAYS)) : tree[0];
+        }
+        return sum;
+    }
+
+    // EFFECTS: returns the sum of the days of a segment up to and including the one at the given offset,
+    //  0 if offset is negative
+    private static long within(long[] tree, int offset) {
+        long sum = 0;
+        for (int i = offset + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+}
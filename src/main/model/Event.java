@@ -1,17 +1,28 @@
 package model;
 
-import java.util.Calendar;
 import java.util.Date;
 import java.util.Iterator;
 
 
 /**
  * Represents an alarm system event.
+ * An event carries its type, a payload of numbers whose meaning each
+ * type documents, and the time it was created in epoch milliseconds;
+ * its description is only rendered, once, when first read.
  */
 public class Event {
+    /** the category of an event about no category in particular */
+    public static final int NO_CATEGORY = -1;
     private static final int HASH_CONSTANT = 13;
-    private Date dateLogged;
+    private final EventType type;
+    private final long timeMillis;
+    private final long count;
+    private final long period;
+    private final long value;
+    private final int category;
+    private final String text;
     private String description;
+    private long sequence = -1;
 	
 	/**
 	 * Creates an event with the given description
@@ -19,8 +30,30 @@ public class Event {
 	 * @param description  a description of the event
 	 */
     public Event(String description) {
-        dateLogged = Calendar.getInstance().getTime();
-        this.description = description;
+        this(EventType.MESSAGE, 0, 0, 0, NO_CATEGORY, description);
+    }
+
+    /**
+     * Creates an event of the given type and payload
+     * and the current date/time stamp.
+     * @param type  the type of the event
+     * @param count  the number of records concerned, as the type documents
+     * @param period  the month or day concerned
+     * @param value  the other number the type carries
+     * @param category  the ordinal of the category concerned, or NO_CATEGORY
+     */
+    public Event(EventType type, long count, long period, long value, int category) {
+        this(type, count, period, value, category, null);
+    }
+
+    private Event(EventType type, long count, long period, long value, int category, String text) {
+        this.timeMillis = System.currentTimeMillis();
+        this.type = type;
+        this.count = count;
+        this.period = period;
+        this.value = value;
+        this.category = category;
+        this.text = text;
     }
 
     /**
@@ -28,15 +61,92 @@ public class Event {
      * @return  the date of the event
      */
     public Date getDate() {
-        return dateLogged;
+        return new Date(timeMillis);
     }
 
     /**
-     * Gets the description of this event.
+     * Gets the time of this event.
+     * @return  the milliseconds from 1970-01-01T00:00Z to the event
+     */
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    /**
+     * Gets the type of this event.
+     * @return  the type of the event
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the description of this event, rendering it from the
+     * type and payload the first time.
      * @return  the description of the event
      */
     public String getDescription() {
-        return description;
+        String rendered = description;
+        if (rendered == null) {
+            rendered = type.describe(this);
+            description = rendered;
+        }
+        return rendered;
+    }
+
+    /**
+     * Gets the number of records this event concerns, as its type documents.
+     * @return  the number of records
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the month, as year * 100 + month, or the day, as days since
+     * 1970-01-01, this event concerns, as its type documents.
+     * @return  the month or day
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the other number this event carries, as its type documents.
+     * @return  the value
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the category this event concerns.
+     * @return  the ordinal of the category, or NO_CATEGORY
+     */
+    public int getCategory() {
+        return category;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    /**
+     * Gets the position of this event in the event log: events are
+     * numbered from 0 in the order they were logged.
+     * @return  the sequence number of the event, or -1 if it was never logged
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Numbers this event as it is logged; set before the event is
+     * published to other threads.
+     * @param sequence  the position of the event in the event log
+     */
+    void setSequence(long sequence) {
+        this.sequence = sequence;
     }
 
     @Override
@@ -51,18 +161,18 @@ public class Event {
 
         Event otherEvent = (Event) other;
 
-        return (this.dateLogged.equals(otherEvent.dateLogged)
-                && this.description.equals(otherEvent.description));
+        return (this.timeMillis == otherEvent.timeMillis
+                && this.getDescription().equals(otherEvent.getDescription()));
     }
 
     @Override
     public int hashCode() {
-        return (HASH_CONSTANT * dateLogged.hashCode() + description.hashCode());
+        return (HASH_CONSTANT * Long.hashCode(timeMillis) + getDescription().hashCode());
     }
 
     @Override
     public String toString() {
-        return dateLogged.toString() + "\n" + description;
+        return getDate().toString() + "\n" + getDescription();
     }
 
 }
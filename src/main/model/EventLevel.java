@@ -0,0 +1,9 @@
+package model;
+
+// Represents how much an event matters, from routine detail to warnings; the event log can be set
+//   to leave out the events below a level
+public enum EventLevel {
+    DEBUG,
+    INFO,
+    WARNING
+}
@@ -1,60 +1,450 @@
 package model;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Represents a log of alarm system events.
  * We use the Singleton Design Pattern to ensure that there is only
  * one EventLog in the system and that the system has global access
  * to the single instance of the EventLog.
+ * Events are kept in a fixed-capacity ring buffer: once it is full,
+ * each event logged overwrites the oldest one, so the log never
+ * retains more than its capacity of events.
+ * Events may be logged from several threads at once without locks:
+ * each logging thread claims the next sequence number with one atomic
+ * increment and publishes its event in the slot of that number.
+ * Iterating never throws ConcurrentModificationException and never
+ * sees an event twice or out of order.
+ * Events are logged in the order of their time, so the events of a
+ * period of time are found by binary search over the sequence numbers
+ * retained, without reading the events before the period.
+ * Each event type has a level, and may be sampled: the log leaves out
+ * the events below its level and keeps one in so many of a sampled
+ * type. Both are decided before an event is built, so the events left
+ * out cost one array read at the call site.
  */
 public class EventLog implements Iterable<Event> {
+    /** the number of events retained unless configured otherwise */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
 	/** the only EventLog in the system (Singleton Design Pattern) */
-    private static EventLog theLog;
-    private Collection<Event> events;
-	
+    private static final EventLog theLog = new EventLog();
+    private volatile Ring ring;
+    private final EnumMap<EventType, EventLevel> levels;
+    private final int[] sampling;
+    private EventLevel threshold;
+    /** per event type ordinal: 0 if left out, otherwise log one in that many */
+    private volatile int[] every;
+
     /**
      * Prevent external construction.
      * (Singleton Design Pattern).
      */
     private EventLog() {
-        events = new ArrayList<Event>();
+        ring = new Ring(DEFAULT_CAPACITY, 0);
+        levels = new EnumMap<>(EventType.class);
+        for (EventType type : EventType.values()) {
+            levels.put(type, type.getLevel());
+        }
+        sampling = new int[EventType.values().length];
+        Arrays.fill(sampling, 1);
+        threshold = EventLevel.DEBUG;
+        updateFilter();
     }
 
     /**
-     * Gets instance of EventLog - creates it
-     * if it doesn't already exist.
+     * Gets instance of EventLog - created eagerly,
+     * so that threads never race to create it.
      * (Singleton Design Pattern)
      * @return  instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
-
         return theLog;
     }
 
     /**
-     * Adds an event to the event log.
+     * Adds an event to the event log, overwriting the oldest event
+     * if the log is full.
      * @param e the event to be added
      */
     public void logEvent(Event e) {
-        events.add(e);
+        if (sample(e.getType())) {
+            ring.add(e);
+        }
+    }
+
+    /**
+     * Adds an event of the given type, without payload, to the event log.
+     * @param type  the type of the event
+     */
+    public void logEvent(EventType type) {
+        logEvent(type, 0, 0, 0, Event.NO_CATEGORY);
+    }
+
+    /**
+     * Adds an event of the given type, about a number of records and a
+     * period, to the event log.
+     * @param type  the type of the event
+     * @param count  the number of records concerned, as the type documents
+     * @param period  the month or day concerned
+     */
+    public void logEvent(EventType type, long count, long period) {
+        logEvent(type, count, period, 0, Event.NO_CATEGORY);
+    }
+
+    /**
+     * Adds an event of the given type and payload to the event log;
+     * its description is not rendered until read.
+     * @param type  the type of the event
+     * @param count  the number of records concerned, as the type documents
+     * @param period  the month or day concerned
+     * @param value  the other number the type carries
+     * @param category  the ordinal of the category concerned, or Event.NO_CATEGORY
+     */
+    public void logEvent(EventType type, long count, long period, long value, int category) {
+        if (sample(type)) {
+            ring.add(new Event(type, count, period, value, category));
+        }
+    }
+
+    /**
+     * Tells whether events of the given type are logged at all, so that a
+     * caller can skip working out the payload of an event left out.
+     * @param type  the type of the event
+     * @return  true if events of the type are at or above the level of the log
+     */
+    public boolean isLoggable(EventType type) {
+        return every[type.ordinal()] != 0;
+    }
+
+    /**
+     * Sets the level of the log: events below it are left out.
+     * @param level  the lowest level logged
+     */
+    public synchronized void setLevel(EventLevel level) {
+        threshold = level;
+        updateFilter();
+    }
+
+    /**
+     * Sets the level events of the given type are logged at.
+     * @param type  the type of the events
+     * @param level  the level of the events
+     */
+    public synchronized void setLevel(EventType type, EventLevel level) {
+        levels.put(type, level);
+        updateFilter();
+    }
+
+    /**
+     * Gets the level of the log.
+     * @return  the lowest level logged
+     */
+    public synchronized EventLevel getLevel() {
+        return threshold;
+    }
+
+    /**
+     * Gets the level events of the given type are logged at.
+     * @param type  the type of the events
+     * @return  the level of the events
+     */
+    public synchronized EventLevel getLevel(EventType type) {
+        return levels.get(type);
+    }
+
+    /**
+     * Sets the log to keep one in so many events of the given type,
+     * picked at random; 1 keeps them all.
+     * @param type  the type of the events
+     * @param rate  the number of events logged for one kept, at least 1
+     */
+    public synchronized void setSampling(EventType type, int rate) {
+        sampling[type.ordinal()] = rate;
+        updateFilter();
+    }
+
+    /**
+     * Decides whether an event of the given type is logged, before it is built.
+     * @param type  the type of the event
+     * @return  true if the event is to be logged
+     */
+    private boolean sample(EventType type) {
+        int n = every[type.ordinal()];
+        return n == 1 || n > 1 && ThreadLocalRandom.current().nextInt(n) == 0;
+    }
+
+    /**
+     * Works out, for each event type, whether it is logged and one in how many.
+     */
+    private void updateFilter() {
+        int[] updated = new int[sampling.length];
+        for (EventType type : EventType.values()) {
+            boolean logged = levels.get(type).compareTo(threshold) >= 0;
+            updated[type.ordinal()] = logged ? sampling[type.ordinal()] : 0;
+        }
+        every = updated;
     }
 
     /**
      * Clears the event log and logs the event.
+     * Sequence numbers keep counting from where they were.
      */
-    public void clear() {
-        events.clear();
-        logEvent(new Event("Event log cleared."));
+    public synchronized void clear() {
+        Ring old = ring;
+        ring = new Ring(old.capacity(), old.next.get());
+        logEvent(EventType.LOG_CLEARED);
     }
 
+    /**
+     * Sets how many events the log retains, keeping the most recent
+     * events that fit. Events logged by other threads while the
+     * capacity changes may be lost.
+     * @param capacity  the number of events to retain, rounded up to a power of two
+     */
+    public synchronized void setCapacity(int capacity) {
+        Ring old = ring;
+        long end = old.next.get();
+        long start = Math.max(end - Ring.sizeFor(capacity), old.first());
+        Ring resized = new Ring(capacity, start);
+        for (long seq = start; seq < end; seq++) {
+            Event e = old.get(seq);
+            if (e != null) {
+                resized.slots.set(resized.index(seq), e);
+            }
+        }
+        resized.next.set(end);
+        ring = resized;
+    }
+
+    /**
+     * Gets the number of events the log retains.
+     * @return  the capacity of the log
+     */
+    public int getCapacity() {
+        return ring.capacity();
+    }
+
+    /**
+     * Gets the sequence number the next event logged will get.
+     * @return  the number of events ever logged
+     */
+    public long getNextSequence() {
+        return ring.next.get();
+    }
+
+    /**
+     * Copies, in the order they were logged, up to max events from
+     * sequence number from onwards, stopping early at an event not yet
+     * published; events no longer retained are skipped. A reader that
+     * keeps the returned position reads every event once, and the events
+     * it missed number the returned position minus from, minus those copied.
+     * @param from  the sequence number to read from
+     * @param max  the most events to copy
+     * @param events  the list the events are appended to
+     * @return  the sequence number to read from next time
+     */
+    public long readFrom(long from, int max, List<Event> events) {
+        Ring current = ring;
+        long end = current.next.get();
+        long seq = Math.max(from, current.oldest(end));
+        int copied = 0;
+        while (seq < end && copied < max) {
+            Event e = current.slots.get(current.index(seq));
+            long at = e == null ? -1 : e.getSequence();
+            if (at < seq) {
+                break;
+            }
+            if (at == seq) {
+                events.add(e);
+                copied++;
+            }
+            seq++;
+        }
+        return seq;
+    }
+
+    /**
+     * Copies, in the order they were logged, up to max events of the given
+     * types logged from fromMillis, included, to toMillis, excluded, with
+     * sequence number from onwards. The first event of the period is found
+     * by binary search, and the search stops at the first event after the
+     * period, so only the events of the period are read. A query is paged
+     * by calling again from the returned position until fewer than max
+     * events are copied. Events logged at the same time by several threads
+     * may be out of order by the time it took to log them, so an event of
+     * the very edge of the period may be missed.
+     * @param fromMillis  the start of the period, in milliseconds from 1970-01-01T00:00Z
+     * @param toMillis  the end of the period
+     * @param types  the types of the events to copy
+     * @param from  the sequence number to read from; 0 to read from the start of the period
+     * @param max  the most events to copy
+     * @param events  the list the events are appended to
+     * @return  the sequence number to read from next time
+     */
+    public long query(long fromMillis, long toMillis, Set<EventType> types, long from, int max, List<Event> events) {
+        Ring current = ring;
+        long end = current.next.get();
+        long seq = Math.max(from, current.search(fromMillis, current.oldest(end), end));
+        int copied = 0;
+        while (seq < end && copied < max) {
+            Event e = current.slots.get(current.index(seq));
+            long at = e == null ? -1 : e.getSequence();
+            if (at < seq || at == seq && e.getTimeMillis() >= toMillis) {
+                break;
+            }
+            if (at == seq && e.getTimeMillis() >= fromMillis && types.contains(e.getType())) {
+                events.add(e);
+                copied++;
+            }
+            seq++;
+        }
+        return seq;
+    }
+
+    /**
+     * Iterates over the events retained, in the order they were logged;
+     * events logged during the iteration may or may not be seen, and
+     * events overwritten during the iteration are skipped.
+     */
     @Override
     public Iterator<Event> iterator() {
-        return events.iterator();
+        Ring current = ring;
+        long end = current.next.get();
+        return new RingIterator(current, current.oldest(end), end);
+    }
+
+    /**
+     * Represents the slots of the log: the event of sequence number seq
+     * is in slot seq modulo the capacity, until overwritten by the event
+     * of seq + capacity.
+     */
+    private static final class Ring {
+        private final AtomicReferenceArray<Event> slots;
+        private final int mask;
+        private final long origin;
+        private final AtomicLong next;
+
+        Ring(int capacity, long origin) {
+            this.slots = new AtomicReferenceArray<>(sizeFor(capacity));
+            this.mask = slots.length() - 1;
+            this.origin = origin;
+            this.next = new AtomicLong(origin);
+        }
+
+        // EFFECTS: returns the smallest power of two at least capacity
+        static int sizeFor(int capacity) {
+            int size = 1;
+            while (size < capacity) {
+                size <<= 1;
+            }
+            return size;
+        }
+
+        // MODIFIES: this, e
+        // EFFECTS: numbers the event with the next sequence number and publishes it in its slot,
+        //  unless a producer that took a later number already did: a producer stalled for a whole lap
+        //  of the ring must not overwrite a newer event with an older one
+        void add(Event e) {
+            long seq = next.getAndIncrement();
+            e.setSequence(seq);
+            int i = index(seq);
+            Event current = slots.get(i);
+            while ((current == null || current.getSequence() < seq) && !slots.compareAndSet(i, current, e)) {
+                current = slots.get(i);
+            }
+        }
+
+        // EFFECTS: returns the event of the given sequence number, or null if it is not published yet
+        //  or already overwritten
+        Event get(long seq) {
+            Event e = slots.get(index(seq));
+            return e != null && e.getSequence() == seq ? e : null;
+        }
+
+        // EFFECTS: returns the first sequence number this ring ever held
+        long first() {
+            return origin;
+        }
+
+        // EFFECTS: returns the oldest sequence number this ring may still hold, given the next one
+        long oldest(long end) {
+            return Math.max(origin, end - capacity());
+        }
+
+        // EFFECTS: returns the first sequence number from lo to hi, excluded, of an event logged at or after
+        //  timeMillis, or hi if none; events already overwritten count as before, events not yet
+        //  published as after
+        long search(long timeMillis, long lo, long hi) {
+            while (lo < hi) {
+                long mid = (lo + hi) >>> 1;
+                Event e = slots.get(index(mid));
+                long at = e == null ? -1 : e.getSequence();
+                if (at > mid || at == mid && e.getTimeMillis() < timeMillis) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        int capacity() {
+            return slots.length();
+        }
+
+        int index(long seq) {
+            return (int) seq & mask;
+        }
+    }
+
+    /**
+     * Represents an iteration over the events of a ring from one sequence
+     * number to another, excluded, skipping slots not holding their event.
+     */
+    private static final class RingIterator implements Iterator<Event> {
+        private final Ring ring;
+        private final long end;
+        private long seq;
+        private Event upcoming;
+
+        RingIterator(Ring ring, long start, long end) {
+            this.ring = ring;
+            this.end = end;
+            this.seq = start;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return upcoming != null;
+        }
+
+        @Override
+        public Event next() {
+            if (upcoming == null) {
+                throw new NoSuchElementException();
+            }
+            Event e = upcoming;
+            advance();
+            return e;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: finds the next event still held by the ring before end
+        private void advance() {
+            upcoming = null;
+            while (upcoming == null && seq < end) {
+                upcoming = ring.get(seq++);
+            }
+        }
     }
 }
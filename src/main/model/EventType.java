@@ -0,0 +1,123 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+// Represents the kinds of event logged, each rendering its description from the event's primitive payload
+//   (count, period, value and category, as documented on each kind; the others are left 0 or NO_CATEGORY)
+//   only when the description is read, and each with a default level
+//   periods are months, carried as year * 100 + month (see monthCode), or days, carried as days since 1970-01-01
+public enum EventType {
+    // text: the description
+    MESSAGE(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return e.getText();
+        }
+    },
+    // no payload
+    EXPENSE_ADDED(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return "Expense added to Balance Sheet";
+        }
+    },
+    // no payload
+    INCOME_ADDED(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return "Income added to Balance Sheet";
+        }
+    },
+    // count: number of expenses added, value: number of incomes added
+    RECORDS_ADDED(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return e.getCount() + " expenses and " + e.getValue() + " incomes added to Balance Sheet";
+        }
+    },
+    // count: number of records deleted, period: their month
+    MONTH_DELETED(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return e.getCount() + " records of " + monthOf(e.getPeriod()) + " deleted";
+        }
+    },
+    // count: number of records moved, period: the day they were moved to
+    RECORDS_MOVED(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return e.getCount() + " records moved to " + LocalDate.ofEpochDay(e.getPeriod());
+        }
+    },
+    // period: the month reviewed
+    MONTH_REVIEWED(EventLevel.DEBUG) {
+        @Override
+        String describe(Event e) {
+            return "Records of " + monthOf(e.getPeriod()) + " reviewed";
+        }
+    },
+    // period: the first day reviewed, value: the last day reviewed, as days since 1970-01-01
+    RANGE_REVIEWED(EventLevel.DEBUG) {
+        @Override
+        String describe(Event e) {
+            return "Records from " + LocalDate.ofEpochDay(e.getPeriod()) + " to " + LocalDate.ofEpochDay(e.getValue())
+                    + " reviewed";
+        }
+    },
+    // category: the expense category of the budget, or NO_CATEGORY for all expenses, period: its month,
+    //   value: the percentage of its cap reached
+    BUDGET_REACHED(EventLevel.WARNING) {
+        @Override
+        String describe(Event e) {
+            String of = e.getCategory() == Event.NO_CATEGORY ? "all expenses"
+                    : ExpenseCategory.values()[e.getCategory()].toString();
+            return "Budget of " + of + " for " + monthOf(e.getPeriod()) + " reached " + e.getValue() + "%";
+        }
+    },
+    // no payload
+    DATA_LOADED(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return "Data loaded";
+        }
+    },
+    // no payload
+    DATA_SAVED(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return "Data saved";
+        }
+    },
+    // no payload
+    LOG_CLEARED(EventLevel.INFO) {
+        @Override
+        String describe(Event e) {
+            return "Event log cleared.";
+        }
+    };
+
+    private final EventLevel level;
+
+    EventType(EventLevel level) {
+        this.level = level;
+    }
+
+    // EFFECTS: returns the level events of this type are logged at unless the event log is set otherwise
+    public EventLevel getLevel() {
+        return level;
+    }
+
+    // EFFECTS: returns the description of an event of this type
+    abstract String describe(Event e);
+
+    // EFFECTS: returns the month as the payload of an event: year * 100 + month
+    public static long monthCode(YearMonth month) {
+        return month.getYear() * 100L + month.getMonthValue();
+    }
+
+    // EFFECTS: returns the month carried as year * 100 + month
+    static YearMonth monthOf(long code) {
+        return YearMonth.of((int) (code / 100), (int) (code % 100));
+    }
+}
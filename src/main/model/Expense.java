@@ -7,24 +7,59 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
-// Represents an expense record, with amount (in dollars), date, time, category, a timeID, and a tempID
+// Represents an expense record, with amount (in cents), date, time, category, a timeID, a tempID,
+//   and a recordID that is unique among all records and never changes
+//   the date is kept as a long of days since 1970-01-01 and the time as a long of nanoseconds since
+//   midnight, covering every date LocalDate can hold, and the category as the byte of its ordinal,
+//   so a record holds no other object
 public class Expense implements Record {
-    private double amount;
-    private LocalDateTime dateTime;
-    private ExpenseCategory category;
+    protected static final byte UNCLASSIFIED = -1;
+    private static final AtomicInteger nextRecordID = new AtomicInteger(1);
+    private static final ExpenseCategory[] CATEGORIES = ExpenseCategory.values();
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final long NANOS_PER_MILLI = 1000000L;
+    private static final TimeIDGenerator timeIDs = new TimeIDGenerator();
+
+    private long amountCents;
+    private long epochDay;
+    private long nanoOfDay;
     private long timeID; //17 digits
     private int tempID;
+    private final int recordID;
+    private byte category;
 
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private final DateTimeFormatter formatterWithTime = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
-
+    // EFFECTS: constructs an expense of the given amount in dollars, rounded to the nearest cent,
+    //  dated now to the millisecond, with a timeID larger than that of any record created before
     public Expense(double amount) {
-        this.amount = amount;
-        this.dateTime = LocalDateTime.now();
-        String dateWithTime = dateTime.format(formatterWithTime);
-        this.timeID = Long.parseLong(dateWithTime);
+        this.amountCents = Money.toCents(amount);
+        long epochMillis = System.currentTimeMillis();
+        long localMillis = timeIDs.localMillisOf(epochMillis);
+        this.epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        this.nanoOfDay = Math.floorMod(localMillis, MILLIS_PER_DAY) * NANOS_PER_MILLI;
+        this.timeID = timeIDs.next(epochMillis);
         this.tempID = 0;
+        this.recordID = nextRecordID.getAndIncrement();
+        this.category = UNCLASSIFIED;
+    }
+
+    // EFFECTS: constructs a copy of other, with the same recordID
+    protected Expense(Expense other) {
+        this.amountCents = other.amountCents;
+        this.epochDay = other.epochDay;
+        this.nanoOfDay = other.nanoOfDay;
+        this.category = other.category;
+        this.timeID = other.timeID;
+        this.tempID = other.tempID;
+        this.recordID = other.recordID;
+    }
+
+    // EFFECTS: returns a copy of this expense as it is now, with the same recordID; the copy must never be
+    //  added to a balance sheet holding this expense, so only snapshots and copies of whole sheets make one
+    Expense copy() {
+        return new Expense(this);
     }
 
     // MODIFIES: this
@@ -38,87 +73,108 @@ public class Expense implements Record {
     // EFFECTS: adds a category to a record
     @Override
     public void classify(ExpenseCategory expenseCategory) {
-        this.category = expenseCategory;
+        this.category = (byte) expenseCategory.ordinal();
     }
 
     // MODIFIES: this
-    // EFFECTS: resets the amount
+    // EFFECTS: resets the amount in dollars, rounded to the nearest cent
     @Override
     public void resetAmount(double amount) {
-        this.amount = amount;
+        this.amountCents = Money.toCents(amount);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: resets the amount in cents
+    @Override
+    public void resetAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
 
     // REQUIRES: the format of newDate must be yyyy-mm-dd
     // MODIFIES: this
-    // EFFECTS: resets the date of transaction
-    // the timeID also changes
+    // EFFECTS: resets the date of transaction, keeping its time
+    // the date part of the timeID also changes, arithmetically
     @Override
     public void resetDate(String date) {
         LocalDate newDate = LocalDate.parse(date, formatter);
-        LocalTime prevTime = dateTime.toLocalTime();
-        this.dateTime = LocalDateTime.of(newDate, prevTime);
-
-        String timeIDStr = Long.toString(timeID);
-        char[] timeIDCharArray = new char[17];
-        timeIDCharArray = timeIDStr.toCharArray();
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i <= 8; i++) {
-            sb.append(timeIDCharArray[8 + i]);
-        }
-        String lastNineDigitsStr = sb.toString();
-        long lastNineDigits = Long.parseLong(lastNineDigitsStr);
-        long firstEightDigits = getYear() * 10000L + getMonth() * 100L + getDay();
-        this.timeID = firstEightDigits * (long) Math.pow(10, 9) + lastNineDigits;
+        this.epochDay = newDate.toEpochDay();
+        this.timeID = TimeID.withDate(timeID, newDate);
     }
 
+    // MODIFIES: this
+    // EFFECTS: resets the date and time of transaction, and the timeID to that of the new date and time
     public void resetDateTime(LocalDateTime dateTime) {
-        this.dateTime = dateTime;
+        this.epochDay = dateTime.toLocalDate().toEpochDay();
+        this.nanoOfDay = dateTime.toLocalTime().toNanoOfDay();
+        this.timeID = TimeID.of(dateTime);
     }
 
     // EFFECTS: returns this as JSON object
     @Override
     public JSONObject toJson() {
         JSONObject jsonObject = new JSONObject();
-        jsonObject.put("amount", amount);
-        jsonObject.put("category", category);
-        jsonObject.put("dateTime", dateTime.toString());
+        jsonObject.put("amount", Money.toDecimal(amountCents));
+        jsonObject.put("category", category == UNCLASSIFIED ? null : CATEGORIES[category]);
+        jsonObject.put("dateTime", getDateTime().toString());
         return jsonObject;
     }
 
     public double getAmount() {
-        return amount;
+        return Money.toDollars(amountCents);
+    }
+
+    public long getAmountCents() {
+        return amountCents;
     }
 
     public String getCategoryName() {
-        return category.name();
+        return CATEGORIES[category].name();
+    }
+
+    public int getCategoryOrdinal() {
+        return category;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the ordinal of the category, or UNCLASSIFIED
+    protected void setCategoryOrdinal(int ordinal) {
+        this.category = (byte) ordinal;
     }
 
     public String getDate() {
-        return dateTime.format(formatter);
+        return getDateTime().format(formatter);
     }
 
     public int getTempID() {
         return tempID;
     }
 
+    public int getRecordID() {
+        return recordID;
+    }
+
     public long getTimeID() {
         return timeID;
     }
 
     public int getYear() {
-        return dateTime.getYear();
+        return getLocalDate().getYear();
     }
 
     public int getDay() {
-        return dateTime.getDayOfMonth();
+        return getLocalDate().getDayOfMonth();
     }
 
     public int getMonth() {
-        return dateTime.getMonthValue();
+        return getLocalDate().getMonthValue();
     }
 
     public LocalDateTime getDateTime() {
-        return dateTime;
+        return LocalDateTime.of(getLocalDate(), LocalTime.ofNanoOfDay(nanoOfDay));
+    }
+
+    // EFFECTS: returns the date of this record, without its time
+    private LocalDate getLocalDate() {
+        return LocalDate.ofEpochDay(epochDay);
     }
-    
 }
@@ -2,32 +2,49 @@ package model;
 
 import org.json.JSONObject;
 
-// Represents an income record, with amount (in dollars), date, time, category, a timeID, and a tempID
+// Represents an income record, with amount (in cents), date, time, category, a timeID, and a tempID
+//   it keeps the ordinal of its IncomeCategory in the same byte an expense uses for its ExpenseCategory
 public class Income extends Expense {
-    private IncomeCategory category;
+    private static final IncomeCategory[] CATEGORIES = IncomeCategory.values();
 
     public Income(double amount) {
         super(amount);
     }
 
+    // EFFECTS: constructs a copy of other, with the same recordID
+    protected Income(Income other) {
+        super(other);
+    }
+
+    // EFFECTS: returns a copy of this income as it is now, with the same recordID
+    @Override
+    Income copy() {
+        return new Income(this);
+    }
+
     //MODIFIES: this
     //EFFECTS: add a category to a record
     public void classify(IncomeCategory incomeCategory) {
-        this.category = incomeCategory;
+        setCategoryOrdinal(incomeCategory.ordinal());
+    }
+
+    // EFFECTS: does nothing, as an income is only classified by an IncomeCategory
+    @Override
+    public void classify(ExpenseCategory expenseCategory) {
     }
 
     // EFFECTS: returns this as JSON object
     @Override
     public JSONObject toJson() {
         JSONObject jsonObject = new JSONObject();
-        jsonObject.put("amount", getAmount());
-        jsonObject.put("category", category);
+        jsonObject.put("amount", Money.toDecimal(getAmountCents()));
+        jsonObject.put("category", getCategoryOrdinal() == UNCLASSIFIED ? null : CATEGORIES[getCategoryOrdinal()]);
         jsonObject.put("dateTime", getDateTime().toString());
         return jsonObject;
     }
 
     @Override
     public String getCategoryName() {
-        return category.name();
+        return CATEGORIES[getCategoryOrdinal()].name();
     }
 }
@@ -0,0 +1,50 @@
+package model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Represents the fixed-point money arithmetic used by records and balance sheets:
+//   amounts are kept as whole cents in a long, so sums are exact, and converted to dollars
+//   only at the edges (user input, JSON and display)
+public class Money {
+    public static final int CENTS_PER_DOLLAR = 100;
+    private static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    // EFFECTS: returns the amount in dollars rounded to the nearest cent
+    public static long toCents(double dollars) {
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    // EFFECTS: returns the amount in dollars rounded half-up to the nearest cent
+    public static long toCents(BigDecimal dollars) {
+        return dollars.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // EFFECTS: returns the amount in cents as dollars
+    public static double toDollars(long cents) {
+        return (double) cents / CENTS_PER_DOLLAR;
+    }
+
+    // EFFECTS: returns the amount in cents as an exact decimal number of dollars
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    // EFFECTS: returns the amount in cents formatted as dollars with two decimals, e.g. -12.05
+    public static String format(long cents) {
+        StringBuilder sb = new StringBuilder();
+        if (cents < 0) {
+            sb.append('-');
+        }
+        long absolute = Math.abs(cents);
+        long remainder = absolute % CENTS_PER_DOLLAR;
+        sb.append(absolute / CENTS_PER_DOLLAR).append('.');
+        if (remainder < 10) {
+            sb.append('0');
+        }
+        return sb.append(remainder).toString();
+    }
+}
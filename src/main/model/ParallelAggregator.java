@@ -0,0 +1,119 @@
+package model;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Represents an engine that sums the amounts in cents of partitions of records (e.g. the records of each month)
+//   on a fork/join pool: ranges of partitions are split in halves, and a partition too large on its own
+//   is split by index range, until a task holds at most threshold records
+//   below threshold records in total it stays sequential; sums are exact longs,
+//   so the result never depends on how the work was split
+//   partitions are read by index from several threads, so they should be lists that do not change while
+//   summed, such as snapshots
+public class ParallelAggregator {
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    // EFFECTS: constructs an aggregator on the common pool with the default threshold
+    public ParallelAggregator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    // REQUIRES: threshold > 0
+    // EFFECTS: constructs an aggregator on the given pool, staying sequential for tasks of at most threshold records
+    public ParallelAggregator(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    // EFFECTS: returns the total in cents of each partition, in the order of the partitions
+    public long[] sumByPartition(List<? extends List<Record>> partitions) {
+        long[] offsets = new long[partitions.size() + 1];
+        for (int i = 0; i < partitions.size(); i++) {
+            offsets[i + 1] = offsets[i] + partitions.get(i).size();
+        }
+        long[] sums = new long[partitions.size()];
+        PartitionsTask task = new PartitionsTask(partitions, offsets, sums, 0, partitions.size());
+        if (offsets[partitions.size()] <= threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return sums;
+    }
+
+    // EFFECTS: returns the total in cents of the records from index from to index to, excluded
+    private static long sum(List<Record> records, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += records.get(i).getAmountCents();
+        }
+        return sum;
+    }
+
+    // Represents the summing of the partitions from lo to hi, excluded, each into its own slot of sums
+    // tasks are never serialized
+    @SuppressWarnings("serial")
+    private final class PartitionsTask extends RecursiveAction {
+        private final List<? extends List<Record>> partitions;
+        private final long[] offsets;
+        private final long[] sums;
+        private final int lo;
+        private final int hi;
+
+        PartitionsTask(List<? extends List<Record>> partitions, long[] offsets, long[] sums, int lo, int hi) {
+            this.partitions = partitions;
+            this.offsets = offsets;
+            this.sums = sums;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                List<Record> records = partitions.get(lo);
+                sums[lo] = new SliceTask(records, 0, records.size()).compute();
+            } else if (offsets[hi] - offsets[lo] <= threshold) {
+                for (int i = lo; i < hi; i++) {
+                    sums[i] = sum(partitions.get(i), 0, partitions.get(i).size());
+                }
+            } else if (hi > lo) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new PartitionsTask(partitions, offsets, sums, lo, mid),
+                        new PartitionsTask(partitions, offsets, sums, mid, hi));
+            }
+        }
+    }
+
+    // Represents the summing of the records of one partition from index from to index to, excluded
+    // tasks are never serialized
+    @SuppressWarnings("serial")
+    private final class SliceTask extends RecursiveTask<Long> {
+        private final List<Record> records;
+        private final int from;
+        private final int to;
+
+        SliceTask(List<Record> records, int from, int to) {
+            this.records = records;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= threshold) {
+                return sum(records, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            SliceTask left = new SliceTask(records, from, mid);
+            left.fork();
+            long right = new SliceTask(records, mid, to).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package model;
+
+import java.util.Arrays;
+
+// Represents a mergeable quantile sketch of amounts in cents, in the style of KLL (Karnin, Lang and Liberty)
+//   amounts are kept in a stack of compactors: level h holds amounts standing for 2^h amounts each;
+//   when a level is full it is sorted and every other amount, from a random first one, is promoted to the
+//   level above, so the total weight always equals the exact count
+//   the capacity of level h is about k * (2/3)^(top - h), so the whole sketch holds at most about 3k amounts:
+//   with the default k = 200, at most about 600 longs (under 5 KB), whatever the count
+//   the rank of the amount returned for a quantile is within about 1.7% of the count of the true rank,
+//   with high probability, at k = 200 (the error shrinks as 1/k); quantiles 0 and 1 are the exact minimum
+//   and maximum; below k amounts the sketch is exact
+//   an update is amortized O(1) (compactions cost O(k log k) once every ~k/2 updates); merging two sketches
+//   keeps the same accuracy as one sketch over both inputs
+public class QuantileSketch {
+    public static final int DEFAULT_K = 200;
+    private static final int MIN_WIDTH = 8;
+    private static final double DECAY = 2.0 / 3.0;
+
+    private final int k;
+    private long[][] levels;
+    private int[] sizes;
+    private int numOfLevels;
+    private long count;
+    private long min;
+    private long max;
+    private long seed;
+
+    // EFFECTS: constructs an empty sketch with the default accuracy
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    // REQUIRES: k >= MIN_WIDTH
+    // EFFECTS: constructs an empty sketch whose rank error shrinks as 1/k and whose size grows as k
+    public QuantileSketch(int k) {
+        this.k = k;
+        this.levels = new long[1][MIN_WIDTH];
+        this.sizes = new int[1];
+        this.numOfLevels = 1;
+        this.count = 0;
+        this.min = Long.MAX_VALUE;
+        this.max = Long.MIN_VALUE;
+        this.seed = 0x9E3779B97F4A7C15L;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts one amount in this sketch
+    public void update(long cents) {
+        append(0, cents);
+        count++;
+        min = Math.min(min, cents);
+        max = Math.max(max, cents);
+        if (sizes[0] >= capacity(0)) {
+            compress();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts in this sketch every amount counted in other
+    public void merge(QuantileSketch other) {
+        for (int h = 0; h < other.numOfLevels; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress();
+    }
+
+    // REQUIRES: getCount() > 0, 0 <= q <= 1
+    // EFFECTS: returns an amount whose rank is about q * getCount(), e.g. the median for q = 0.5
+    public long quantile(double q) {
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+        return weightedRank((long) Math.ceil(q * count));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // REQUIRES: getCount() > 0
+    public long getMin() {
+        return min;
+    }
+
+    // REQUIRES: getCount() > 0
+    public long getMax() {
+        return max;
+    }
+
+    // EFFECTS: returns the number of amounts this sketch holds, at most about 3k
+    public int getRetained() {
+        int retained = 0;
+        for (int h = 0; h < numOfLevels; h++) {
+            retained += sizes[h];
+        }
+        return retained;
+    }
+
+    // EFFECTS: returns the smallest amount held whose cumulative weight, walking all levels in ascending order,
+    //  reaches rank
+    private long weightedRank(long rank) {
+        long[][] sorted = new long[numOfLevels][];
+        for (int h = 0; h < numOfLevels; h++) {
+            sorted[h] = Arrays.copyOf(levels[h], sizes[h]);
+            Arrays.sort(sorted[h]);
+        }
+        int[] next = new int[numOfLevels];
+        long cumulative = 0;
+        while (true) {
+            int lowest = lowestLevel(sorted, next);
+            if (lowest < 0) {
+                return max;
+            }
+            cumulative += 1L << lowest;
+            if (cumulative >= rank) {
+                return sorted[lowest][next[lowest]];
+            }
+            next[lowest]++;
+        }
+    }
+
+    // EFFECTS: returns the level whose next sorted amount is the smallest, or -1 if every level is exhausted
+    private static int lowestLevel(long[][] sorted, int[] next) {
+        int lowest = -1;
+        for (int h = 0; h < sorted.length; h++) {
+            if (next[h] < sorted[h].length
+                    && (lowest < 0 || sorted[h][next[h]] < sorted[lowest][next[lowest]])) {
+                lowest = h;
+            }
+        }
+        return lowest;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: compacts every level holding at least its capacity, from the bottom up
+    private void compress() {
+        for (int h = 0; h < numOfLevels; h++) {
+            if (sizes[h] >= capacity(h)) {
+                compact(h);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sorts the given level and promotes every other amount of an even number of them to the level above,
+    //  starting from a random one of the first two; an odd amount left over stays at the level
+    private void compact(int h) {
+        if (h + 1 == numOfLevels) {
+            addLevel();
+        }
+        long[] level = levels[h];
+        Arrays.sort(level, 0, sizes[h]);
+        int even = sizes[h] & ~1;
+        for (int i = (int) (nextRandom() & 1); i < even; i += 2) {
+            append(h + 1, level[i]);
+        }
+        if (even < sizes[h]) {
+            level[0] = level[even];
+        }
+        sizes[h] -= even;
+    }
+
+    // EFFECTS: returns the capacity of the given level, smaller the further it is below the top level
+    private int capacity(int h) {
+        int depth = numOfLevels - 1 - h;
+        return Math.max(MIN_WIDTH, (int) Math.ceil(k * Math.pow(DECAY, depth)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds one amount to the given level, growing it if needed
+    private void append(int h, long cents) {
+        while (h >= numOfLevels) {
+            addLevel();
+        }
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], levels[h].length * 2);
+        }
+        levels[h][sizes[h]++] = cents;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds an empty level on top
+    private void addLevel() {
+        if (numOfLevels == levels.length) {
+            levels = Arrays.copyOf(levels, numOfLevels * 2);
+            sizes = Arrays.copyOf(sizes, numOfLevels * 2);
+        }
+        levels[numOfLevels] = new long[MIN_WIDTH];
+        numOfLevels++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next pseudo-random long (xorshift), so compactions are random yet reproducible
+    private long nextRandom() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return seed;
+    }
+}
@@ -16,15 +16,22 @@ public interface Record {
     void classify(ExpenseCategory expenseCategory);
 
     //MODIFIES: this
-    //EFFECTS: reset the amount
+    //EFFECTS: reset the amount in dollars, rounded to the nearest cent
     void resetAmount(double amount);
 
+    //MODIFIES: this
+    //EFFECTS: reset the amount in cents
+    void resetAmountCents(long amountCents);
+
     //REQUIRES: the format of newDate must be yyyy-mm-dd
     //MODIFIES: this
     //EFFECTS: reset the date of transaction
     // the timeID also changes
     void resetDate(String newDate);
 
+    //MODIFIES: this
+    //EFFECTS: reset the date and time of transaction
+    // the timeID also changes
     void resetDateTime(LocalDateTime dateTime);
 
     //EFFECTS: returns this as JSON object
@@ -32,10 +39,15 @@ public interface Record {
 
     int getTempID();
 
+    //EFFECTS: returns the positive ID that identifies this record for its whole life
+    int getRecordID();
+
     long getTimeID();
 
     double getAmount();
 
+    long getAmountCents();
+
     int getMonth();
 
     int getYear();
@@ -44,5 +56,8 @@ public interface Record {
 
     String getCategoryName();
 
+    //EFFECTS: returns the ordinal of the record's category, or -1 if it is not classified
+    int getCategoryOrdinal();
+
     LocalDateTime getDateTime();
 }
@@ -0,0 +1,127 @@
+package model;
+
+// Represents a hash map from record IDs to records, keyed by primitive ints with open addressing
+//   (linear probing over parallel key and value arrays), so no key is ever boxed
+//   the key 0 marks an empty slot, so record IDs must be positive
+public class RecordIdMap {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private int[] keys;
+    private Record[] values;
+    private int size;
+    private int mask;
+
+    public RecordIdMap() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new Record[INITIAL_CAPACITY];
+        size = 0;
+        mask = INITIAL_CAPACITY - 1;
+    }
+
+    // REQUIRES: id > 0
+    // MODIFIES: this
+    // EFFECTS: maps id to record, replacing any record previously mapped to id
+    public void put(int id, Record record) {
+        int slot = find(id);
+        if (keys[slot] == 0) {
+            keys[slot] = id;
+            size++;
+        }
+        values[slot] = record;
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    // EFFECTS: returns the record mapped to id, or null if there is none
+    public Record get(int id) {
+        if (id == 0) {
+            return null;
+        }
+        return values[find(id)];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the mapping of id and returns the record it was mapped to, or null if there was none
+    public Record remove(int id) {
+        if (id == 0) {
+            return null;
+        }
+        int slot = find(id);
+        Record removed = values[slot];
+        if (keys[slot] != 0) {
+            keys[slot] = 0;
+            values[slot] = null;
+            size--;
+            closeGap(slot);
+        }
+        return removed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: grows the map ahead of time so that it holds expectedSize records without resizing
+    public void ensureCapacity(int expectedSize) {
+        int capacity = keys.length;
+        while (expectedSize * 2 > capacity) {
+            capacity *= 2;
+        }
+        if (capacity > keys.length) {
+            resize(capacity);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns the slot holding id, or the empty slot where id would be inserted
+    private int find(int id) {
+        int slot = hash(id);
+        while (keys[slot] != 0 && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // EFFECTS: returns the home slot of id
+    private int hash(int id) {
+        int h = id * GOLDEN_RATIO;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shifts back the entries following a freed slot so that every entry stays reachable
+    //  from its home slot without tombstones
+    private void closeGap(int gap) {
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != 0) {
+            int home = hash(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                keys[slot] = 0;
+                values[slot] = null;
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rehashes every entry into arrays of the given capacity
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Record[] oldValues = values;
+        keys = new int[capacity];
+        values = new Record[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
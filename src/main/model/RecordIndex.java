@@ -0,0 +1,576 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Represents the indexes kept over one kind of record (expense or income) in a balance sheet
+//   records are bucketed by the year and month of their date, so looking up a month
+//   only touches the records of that month
+//   it also keeps running totals in cents, overall and per month, so totals are read without a scan,
+//   and maps record IDs to records, so a record is fetched by its ID in constant time
+//   records are also kept in a skip list ordered by timeID, so any date range is found
+//   in logarithmic time and iterated already sorted
+//   daily sums, overall and per category, and daily counts are kept in sparse segmented Fenwick trees
+//   (see DailySumTree), so the total and count of any range of days, e.g. a trailing window of n days,
+//   are read in logarithmic time plus one step per year or so of data the range spans
+//   each month bucket also keeps, per category, the count, sum, minimum and maximum amount of its records,
+//   so category breakdowns of a month or a range of months are read without touching any record
+//   and caches the largest records of the month, overall and per category, until the month changes,
+//   so top-k queries over many months only rescan the months changed since the last query
+//   and keeps quantile sketches of its amounts, overall and per category, updated as records are added,
+//   so quantiles of a month or a range of months are read by merging a few small sketches
+public class RecordIndex {
+    private final NavigableMap<YearMonth, MonthBucket> months;
+    private final RecordIdMap ids;
+    private final NavigableMap<TimeKey, Record> timeline;
+    private final DailySumTree daily;
+    private final DailySumTree[] dailyByCategory;
+    private final DailySumTree dailyCounts;
+    private long total;
+
+    // EFFECTS: constructs an empty index over records having numOfCategories categories
+    public RecordIndex(int numOfCategories) {
+        months = new TreeMap<>();
+        ids = new RecordIdMap();
+        timeline = new ConcurrentSkipListMap<>();
+        daily = new DailySumTree();
+        dailyByCategory = new DailySumTree[numOfCategories];
+        for (int i = 0; i < numOfCategories; i++) {
+            dailyByCategory[i] = new DailySumTree();
+        }
+        dailyCounts = new DailySumTree();
+        total = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the record to the ID map, to the timeline, to the bucket of its month and to the running totals
+    public void add(Record record) {
+        ids.put(record.getRecordID(), record);
+        timeline.put(keyOf(record.getDateTime(), record), record);
+        addToMonth(record);
+        addToDay(record.getDateTime(), record.getCategoryOrdinal(), record.getAmountCents(), 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds every record whose recordID is not yet indexed, but presizes the ID map once
+    //  and adds to the daily sums once per day and category of the batch
+    //  returns the records added, in the order given
+    public List<Record> addAll(Collection<? extends Record> records) {
+        ids.ensureCapacity(ids.size() + records.size());
+        List<Record> added = new ArrayList<>(records.size());
+        Map<Long, long[]> centsByDay = new HashMap<>();
+        for (Record record : records) {
+            if (ids.get(record.getRecordID()) != null) {
+                continue;
+            }
+            ids.put(record.getRecordID(), record);
+            timeline.put(keyOf(record.getDateTime(), record), record);
+            addToMonth(record);
+            addToDay(centsByDay, record, 1);
+            added.add(record);
+        }
+        for (Map.Entry<Long, long[]> entry : centsByDay.entrySet()) {
+            addToDay(entry.getKey(), entry.getValue());
+        }
+        return added;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the record from the ID map, from the timeline, from the bucket of its month
+    //  and from the running totals, dropping the bucket once empty
+    //  return true if the record was indexed
+    public boolean remove(Record record) {
+        if (!contains(record)) {
+            return false;
+        }
+        ids.remove(record.getRecordID());
+        timeline.remove(keyOf(record.getDateTime(), record));
+        removeFromMonth(record, monthOf(record));
+        addToDay(record.getDateTime(), record.getCategoryOrdinal(), -record.getAmountCents(), -1);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every record of the given month from all indexes at once, dropping its bucket
+    //  and subtracting from the daily sums once per day and category; returns the records removed
+    public List<Record> removeMonth(YearMonth month) {
+        MonthBucket bucket = months.remove(month);
+        if (bucket == null) {
+            return new ArrayList<>();
+        }
+        Map<Long, long[]> centsByDay = new HashMap<>();
+        for (Record record : bucket.records) {
+            ids.remove(record.getRecordID());
+            timeline.remove(keyOf(record.getDateTime(), record));
+            addToDay(centsByDay, record, -1);
+        }
+        for (Map.Entry<Long, long[]> entry : centsByDay.entrySet()) {
+            addToDay(entry.getKey(), entry.getValue());
+        }
+        total -= bucket.total;
+        return new ArrayList<>(bucket.records);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves an indexed record whose date and time used to be previousDateTime to its new place
+    //  in the timeline and, if its month has changed, to the bucket of its new month
+    //  does nothing if the record is not indexed
+    public void move(Record record, LocalDateTime previousDateTime) {
+        if (!contains(record)) {
+            return;
+        }
+        timeline.remove(keyOf(previousDateTime, record));
+        timeline.put(keyOf(record.getDateTime(), record), record);
+        addToDay(previousDateTime, record.getCategoryOrdinal(), -record.getAmountCents(), -1);
+        addToDay(record.getDateTime(), record.getCategoryOrdinal(), record.getAmountCents(), 1);
+        YearMonth previousMonth = YearMonth.from(previousDateTime);
+        if (!previousMonth.equals(monthOf(record))) {
+            removeFromMonth(record, previousMonth);
+            addToMonth(record);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the previous amount in cents of an indexed record by its current amount
+    //  in the running totals; does nothing if the record is not indexed
+    public void changeAmount(Record record, long previousCents) {
+        if (contains(record)) {
+            MonthBucket bucket = months.get(monthOf(record));
+            long difference = record.getAmountCents() - previousCents;
+            bucket.total += difference;
+            total += difference;
+            bucket.exclude(record.getCategoryOrdinal(), previousCents);
+            bucket.include(record.getCategoryOrdinal(), record.getAmountCents());
+            addToDay(record.getDateTime(), record.getCategoryOrdinal(), difference, 0);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the amount of an indexed record from the daily sums and the month statistics
+    //  of its previous category to those of its current category; does nothing if the record is not indexed
+    public void changeCategory(Record record, int previousOrdinal) {
+        if (contains(record)) {
+            MonthBucket bucket = months.get(monthOf(record));
+            bucket.exclude(previousOrdinal, record.getAmountCents());
+            bucket.include(record.getCategoryOrdinal(), record.getAmountCents());
+            addToDay(record.getDateTime(), previousOrdinal, -record.getAmountCents(), 0);
+            addToDay(record.getDateTime(), record.getCategoryOrdinal(), record.getAmountCents(), 0);
+        }
+    }
+
+    // EFFECTS: returns the record with the given ID, or null if there is none
+    public Record get(int id) {
+        return ids.get(id);
+    }
+
+    // EFFECTS: returns true if this very record is indexed
+    public boolean contains(Record record) {
+        return ids.get(record.getRecordID()) == record;
+    }
+
+    // EFFECTS: returns the records of a given month, in the order they were indexed
+    public List<Record> listByMonth(YearMonth month) {
+        MonthBucket bucket = months.get(month);
+        if (bucket == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(bucket.records);
+    }
+
+    // EFFECTS: returns the records whose timeID is in [fromTimeID, toTimeID), ordered by timeID
+    public List<Record> listBetween(long fromTimeID, long toTimeID) {
+        return new ArrayList<>(between(fromTimeID, toTimeID));
+    }
+
+    // EFFECTS: returns the total in cents of the records dated from one day to another, both included
+    public long totalBetween(LocalDate from, LocalDate to) {
+        return daily.sum(from.toEpochDay(), to.toEpochDay());
+    }
+
+    // EFFECTS: returns the total in cents of the records of the category with the given ordinal
+    //  dated from one day to another, both included
+    public long totalBetween(int categoryOrdinal, LocalDate from, LocalDate to) {
+        return dailyByCategory[categoryOrdinal].sum(from.toEpochDay(), to.toEpochDay());
+    }
+
+    // REQUIRES: days >= 0
+    // EFFECTS: returns the count and total in cents of the records dated within the days days
+    //  ending on anchor, anchor included
+    public WindowStats trailing(LocalDate anchor, int days) {
+        long to = anchor.toEpochDay();
+        long from = to - days + 1;
+        return new WindowStats(days, dailyCounts.sum(from, to), daily.sum(from, to));
+    }
+
+    // EFFECTS: returns the statistics of the records of the category with the given ordinal in a given month
+    public CategoryStats statsByMonth(YearMonth month, int categoryOrdinal) {
+        MonthBucket bucket = months.get(month);
+        if (bucket == null) {
+            return CategoryStats.EMPTY;
+        }
+        return bucket.statsOf(categoryOrdinal);
+    }
+
+    // EFFECTS: returns the statistics of the records of each category from one month to another, both included,
+    //  indexed by category ordinal; unclassified records are not counted
+    public CategoryStats[] breakdownBetween(YearMonth from, YearMonth to) {
+        CategoryStats[] breakdown = new CategoryStats[dailyByCategory.length];
+        Arrays.fill(breakdown, CategoryStats.EMPTY);
+        if (from.isAfter(to)) {
+            return breakdown;
+        }
+        for (MonthBucket bucket : months.subMap(from, true, to, true).values()) {
+            for (int i = 0; i < breakdown.length; i++) {
+                breakdown[i] = breakdown[i].merge(bucket.statsOf(i));
+            }
+        }
+        return breakdown;
+    }
+
+    // REQUIRES: k >= 0
+    // EFFECTS: returns the k largest records from one month to another, both included, the largest first
+    public List<Record> top(YearMonth from, YearMonth to, int k) {
+        return topOfSlot(from, to, 0, k);
+    }
+
+    // REQUIRES: k >= 0
+    // EFFECTS: returns the k largest records of the category with the given ordinal from one month to another,
+    //  both included, the largest first
+    public List<Record> top(YearMonth from, YearMonth to, int categoryOrdinal, int k) {
+        return topOfSlot(from, to, categoryOrdinal + 1, k);
+    }
+
+    // EFFECTS: returns a new sketch of the amounts of the records from one month to another, both included
+    public QuantileSketch sketch(YearMonth from, YearMonth to) {
+        return sketchOfSlot(from, to, 0);
+    }
+
+    // EFFECTS: returns a new sketch of the amounts of the records of the category with the given ordinal
+    //  from one month to another, both included
+    public QuantileSketch sketch(YearMonth from, YearMonth to, int categoryOrdinal) {
+        return sketchOfSlot(from, to, categoryOrdinal + 1);
+    }
+
+    // EFFECTS: returns a read-only view of all indexed records, ordered by timeID
+    public Collection<Record> recordsByTime() {
+        return Collections.unmodifiableCollection(timeline.values());
+    }
+
+    // EFFECTS: returns the running total in cents of a given month
+    public long totalByMonth(YearMonth month) {
+        MonthBucket bucket = months.get(month);
+        if (bucket == null) {
+            return 0;
+        }
+        return bucket.total;
+    }
+
+    // EFFECTS: returns the running total in cents of all indexed records
+    public long getTotal() {
+        return total;
+    }
+
+    // EFFECTS: recomputes from the records of each month, with the given aggregator, the total in cents
+    //  of each month that has records; the aggregator's tasks read snapshots of the months, which they
+    //  index directly and which never change under them
+    public NavigableMap<YearMonth, Long> recomputeTotalsByMonth(ParallelAggregator aggregator) {
+        List<List<Record>> partitions = new ArrayList<>(months.size());
+        for (MonthBucket bucket : months.values()) {
+            partitions.add(bucket.records.snapshot());
+        }
+        long[] sums = aggregator.sumByPartition(partitions);
+        NavigableMap<YearMonth, Long> res = new TreeMap<>();
+        int i = 0;
+        for (YearMonth month : months.keySet()) {
+            res.put(month, sums[i++]);
+        }
+        return res;
+    }
+
+    // EFFECTS: returns true if the running totals, overall and per month, match a full recomputation
+    //  over the given records
+    public boolean isConsistentWith(List<Record> records) {
+        Map<YearMonth, Long> recomputed = new HashMap<>();
+        long recomputedTotal = 0;
+        for (Record record : records) {
+            recomputed.merge(monthOf(record), record.getAmountCents(), Long::sum);
+            recomputedTotal += record.getAmountCents();
+        }
+        if (recomputed.size() != months.size() || recomputedTotal != total) {
+            return false;
+        }
+        for (Map.Entry<YearMonth, Long> entry : recomputed.entrySet()) {
+            if (entry.getValue() != totalByMonth(entry.getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns the year and month of the record's date
+    public static YearMonth monthOf(Record record) {
+        return YearMonth.of(record.getYear(), record.getMonth());
+    }
+
+    // EFFECTS: returns the k largest records of the given cache slot (see MonthBucket) from one month to another,
+    //  merging the cached top k of each month
+    private List<Record> topOfSlot(YearMonth from, YearMonth to, int slot, int k) {
+        TopK top = new TopK(k);
+        if (!from.isAfter(to)) {
+            for (MonthBucket bucket : months.subMap(from, true, to, true).values()) {
+                top.offerAll(bucket.top(slot, k));
+            }
+        }
+        return top.toList();
+    }
+
+    // EFFECTS: returns a new sketch of the given slot (see MonthBucket) from one month to another,
+    //  merging the sketch of each month
+    private QuantileSketch sketchOfSlot(YearMonth from, YearMonth to, int slot) {
+        QuantileSketch res = new QuantileSketch();
+        if (!from.isAfter(to)) {
+            for (MonthBucket bucket : months.subMap(from, true, to, true).values()) {
+                QuantileSketch sketch = bucket.sketch(slot);
+                if (sketch != null) {
+                    res.merge(sketch);
+                }
+            }
+        }
+        return res;
+    }
+
+    // EFFECTS: returns a view of the timeline whose timeIDs are in [fromTimeID, toTimeID)
+    private Collection<Record> between(long fromTimeID, long toTimeID) {
+        if (fromTimeID >= toTimeID) {
+            return Collections.emptyList();
+        }
+        return timeline.subMap(new TimeKey(fromTimeID, 0), new TimeKey(toTimeID, 0)).values();
+    }
+
+    // EFFECTS: returns the timeline key of a record dated at dateTime
+    private static TimeKey keyOf(LocalDateTime dateTime, Record record) {
+        return new TimeKey(TimeID.of(dateTime), record.getRecordID());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds cents to the daily sums, overall and of the category with the given ordinal,
+    //  and count to the daily count, of the day of dateTime; unclassified records only count towards
+    //  the overall sums
+    private void addToDay(LocalDateTime dateTime, int categoryOrdinal, long cents, int count) {
+        long epochDay = dateTime.toLocalDate().toEpochDay();
+        daily.add(epochDay, cents);
+        dailyCounts.add(epochDay, count);
+        if (categoryOrdinal >= 0) {
+            dailyByCategory[categoryOrdinal].add(epochDay, cents);
+        }
+    }
+
+    // REQUIRES: sign is 1 or -1
+    // MODIFIES: centsByDay
+    // EFFECTS: adds the record's amount times sign to the entry of its day and category in centsByDay,
+    //  and sign to the count of its day, with entries laid out as addToDay(long, long[]) expects
+    private void addToDay(Map<Long, long[]> centsByDay, Record record, int sign) {
+        long[] dayCents = centsByDay.computeIfAbsent(record.getDateTime().toLocalDate().toEpochDay(),
+                d -> new long[dailyByCategory.length + 2]);
+        dayCents[record.getCategoryOrdinal() + 1] += sign * record.getAmountCents();
+        dayCents[dailyByCategory.length + 1] += sign;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds to the daily sums of a day the cents of each category, indexed by category ordinal plus one,
+    //  cents[0] holding those of unclassified records, and to its daily count the last entry of cents
+    private void addToDay(long epochDay, long[] cents) {
+        long sum = 0;
+        dailyCounts.add(epochDay, cents[cents.length - 1]);
+        for (int i = 0; i < cents.length - 1; i++) {
+            sum += cents[i];
+            if (i > 0) {
+                dailyByCategory[i - 1].add(epochDay, cents[i]);
+            }
+        }
+        daily.add(epochDay, sum);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the record and its amount to the bucket of its month and to the total
+    private void addToMonth(Record record) {
+        MonthBucket bucket = months.computeIfAbsent(monthOf(record), m -> new MonthBucket(dailyByCategory.length));
+        bucket.records.add(record);
+        bucket.total += record.getAmountCents();
+        bucket.include(record.getCategoryOrdinal(), record.getAmountCents());
+        total += record.getAmountCents();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the record and its amount from the bucket of the given month and from the total,
+    //  dropping the bucket once empty
+    private void removeFromMonth(Record record, YearMonth month) {
+        MonthBucket bucket = months.get(month);
+        bucket.records.remove(record);
+        bucket.total -= record.getAmountCents();
+        bucket.exclude(record.getCategoryOrdinal(), record.getAmountCents());
+        total -= record.getAmountCents();
+        if (bucket.records.isEmpty()) {
+            months.remove(month);
+        }
+    }
+
+    // Represents the records of one month with their running total
+    //   and, indexed by category ordinal, the count and sum of each category and the count of each of its amounts,
+    //   ordered, so that its minimum and maximum stay known as amounts are excluded
+    //   it also caches the largest records of the month in slots: slot 0 for all records,
+    //   slot ordinal + 1 for each category; a slot is dropped whenever a record of it changes
+    //   and a quantile sketch per slot, updated as amounts are included; sketches cannot forget an amount,
+    //   so excluding one marks the sketch stale, to be rebuilt from the records of the month when next read
+    private static class MonthBucket {
+        private final SegmentedRecordList records = new SegmentedRecordList();
+        private long total = 0;
+        private final int[] counts;
+        private final long[] sums;
+        private final List<TreeMap<Long, Integer>> amounts;
+        private final List<List<Record>> topCache;
+        private final int[] topCacheK;
+        private final QuantileSketch[] sketches;
+        private final boolean[] staleSketches;
+
+        MonthBucket(int numOfCategories) {
+            counts = new int[numOfCategories];
+            sums = new long[numOfCategories];
+            amounts = new ArrayList<>(numOfCategories);
+            for (int i = 0; i < numOfCategories; i++) {
+                amounts.add(new TreeMap<>());
+            }
+            topCache = new ArrayList<>(Collections.nCopies(numOfCategories + 1, null));
+            topCacheK = new int[numOfCategories + 1];
+            sketches = new QuantileSketch[numOfCategories + 1];
+            staleSketches = new boolean[numOfCategories + 1];
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the sketch of the amounts of the given slot, rebuilding it first if stale,
+        //  or null if the slot has no amounts
+        QuantileSketch sketch(int slot) {
+            if (staleSketches[slot]) {
+                staleSketches[slot] = false;
+                sketches[slot] = null;
+                for (Record record : records) {
+                    if (slot == 0 || record.getCategoryOrdinal() == slot - 1) {
+                        sketchSlot(slot, record.getAmountCents());
+                    }
+                }
+            }
+            return sketches[slot];
+        }
+
+        // MODIFIES: this
+        // EFFECTS: counts an amount in the sketch of the given slot, unless it is stale
+        private void sketchSlot(int slot, long cents) {
+            if (!staleSketches[slot]) {
+                if (sketches[slot] == null) {
+                    sketches[slot] = new QuantileSketch();
+                }
+                sketches[slot].update(cents);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: returns the k largest records of the given slot, the largest first,
+        //  from the cache if it holds at least k of them or all there are, or else computing and caching them
+        List<Record> top(int slot, int k) {
+            List<Record> cached = topCache.get(slot);
+            if (cached != null && (topCacheK[slot] >= k || cached.size() < topCacheK[slot])) {
+                return cached.subList(0, Math.min(k, cached.size()));
+            }
+            TopK top = new TopK(k);
+            for (Record record : records) {
+                if (slot == 0 || record.getCategoryOrdinal() == slot - 1) {
+                    top.offer(record);
+                }
+            }
+            cached = top.toList();
+            topCache.set(slot, cached);
+            topCacheK[slot] = k;
+            return cached;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: drops the cached largest records of all records and of the category with the given ordinal
+        private void invalidate(int ordinal) {
+            topCache.set(0, null);
+            if (ordinal >= 0) {
+                topCache.set(ordinal + 1, null);
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: counts an amount in the sketches and in the statistics of the category with the given ordinal;
+        //  amounts of unclassified records are only counted in the sketch of all records
+        void include(int ordinal, long cents) {
+            invalidate(ordinal);
+            sketchSlot(0, cents);
+            if (ordinal < 0) {
+                return;
+            }
+            sketchSlot(ordinal + 1, cents);
+            amounts.get(ordinal).merge(cents, 1, Integer::sum);
+            counts[ordinal]++;
+            sums[ordinal] += cents;
+        }
+
+        // REQUIRES: the records of this bucket no longer hold the amount, in the category with the given ordinal
+        // MODIFIES: this
+        // EFFECTS: uncounts an amount from the statistics of the category with the given ordinal in O(log n),
+        //  and marks its sketches stale
+        void exclude(int ordinal, long cents) {
+            invalidate(ordinal);
+            staleSketches[0] = true;
+            if (ordinal < 0) {
+                return;
+            }
+            staleSketches[ordinal + 1] = true;
+            counts[ordinal]--;
+            sums[ordinal] -= cents;
+            amounts.get(ordinal).computeIfPresent(cents, (amount, count) -> count == 1 ? null : count - 1);
+        }
+
+        // EFFECTS: returns the statistics of the category with the given ordinal
+        CategoryStats statsOf(int ordinal) {
+            if (counts[ordinal] == 0) {
+                return CategoryStats.EMPTY;
+            }
+            TreeMap<Long, Integer> byAmount = amounts.get(ordinal);
+            return new CategoryStats(counts[ordinal], sums[ordinal], byAmount.firstKey(), byAmount.lastKey());
+        }
+    }
+
+    // Represents the position of a record in the timeline: its timeID, with its recordID breaking ties
+    private static final class TimeKey implements Comparable<TimeKey> {
+        private final long timeID;
+        private final int recordID;
+
+        TimeKey(long timeID, int recordID) {
+            this.timeID = timeID;
+            this.recordID = recordID;
+        }
+
+        @Override
+        public int compareTo(TimeKey other) {
+            int byTime = Long.compare(timeID, other.timeID);
+            if (byTime != 0) {
+                return byTime;
+            }
+            return Integer.compare(recordID, other.recordID);
+        }
+    }
+}
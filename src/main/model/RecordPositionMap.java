@@ -0,0 +1,112 @@
+package model;
+
+// Represents a hash map from record IDs to positions in a list, keyed and valued by primitive ints
+//   with open addressing (linear probing over parallel key and value arrays), like RecordIdMap
+//   the key 0 marks an empty slot, so record IDs must be positive; positions must not be negative
+public class RecordPositionMap {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    public RecordPositionMap() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+        size = 0;
+        mask = INITIAL_CAPACITY - 1;
+    }
+
+    // REQUIRES: id > 0, position >= 0
+    // MODIFIES: this
+    // EFFECTS: maps id to position, replacing any position previously mapped to id
+    public void put(int id, int position) {
+        int slot = find(id);
+        if (keys[slot] == 0) {
+            keys[slot] = id;
+            size++;
+        }
+        values[slot] = position;
+        if (size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    // EFFECTS: returns the position mapped to id, or -1 if there is none
+    public int get(int id) {
+        if (id == 0) {
+            return -1;
+        }
+        int slot = find(id);
+        return keys[slot] == 0 ? -1 : values[slot];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the mapping of id, if any
+    public void remove(int id) {
+        if (id == 0) {
+            return;
+        }
+        int slot = find(id);
+        if (keys[slot] != 0) {
+            keys[slot] = 0;
+            size--;
+            closeGap(slot);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns the slot holding id, or the empty slot where id would be inserted
+    private int find(int id) {
+        int slot = hash(id);
+        while (keys[slot] != 0 && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // EFFECTS: returns the home slot of id
+    private int hash(int id) {
+        int h = id * GOLDEN_RATIO;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shifts back the entries following a freed slot so that every entry stays reachable
+    //  from its home slot without tombstones
+    private void closeGap(int gap) {
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != 0) {
+            int home = hash(keys[slot]);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                keys[slot] = 0;
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rehashes every entry into arrays of the given capacity
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
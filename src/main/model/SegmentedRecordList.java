@@ -0,0 +1,373 @@
+package model;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Represents a list of records stored in fixed-size segments that are copied on write
+//   a snapshot copies only the array of segments, so it is taken in O(size / SEGMENT_SIZE), after compacting
+//   the tombstones left by removes if there are any
+//   and shares every segment with the list; the list copies a shared segment the first time it
+//   writes to it afterwards, so snapshots never see later adds, removes or replacements
+//   records themselves are shared too: before a record is edited in place, freeze gives a copy of it to
+//   every snapshot still reachable that holds it and has no copy yet; snapshots are numbered as they are
+//   taken and each record is stamped with the number of snapshots taken before it was added, so the
+//   snapshots holding a record are those numbered above its stamp
+//   records are still edited in place, so a snapshot may only be read on the thread that edits the list,
+//   or while no edit is under way: a record read from a snapshot before it is frozen is the live record
+//   the position of each record is kept by its recordID, so removing a record only leaves a tombstone
+//   in its slot, in O(1); tombstones are reclaimed by a compaction once they fill half of the slots
+//   until then an access by index skips them, counting the records of each segment: it takes O(1) while
+//   there are none or when the index follows the one last accessed, as when iterating, and
+//   O(slots / SEGMENT_SIZE + SEGMENT_SIZE) otherwise
+//   records in the list must have distinct recordIDs
+public class SegmentedRecordList extends AbstractList<Record> {
+    private static final int SHIFT = 10;
+    private static final int SEGMENT_SIZE = 1 << SHIFT;
+    private static final int MASK = SEGMENT_SIZE - 1;
+
+    private Record[][] segments;
+    private boolean[] shared;
+    private int numOfShared;
+    private int end;
+    private int numOfTombstones;
+    private int[] liveCounts;
+    private int cursorIndex;
+    private int cursorPosition;
+    private final RecordPositionMap positions;
+    private final List<WeakReference<Snapshot>> snapshots;
+    private int epoch;
+    private RecordPositionMap addedAt;
+
+    public SegmentedRecordList() {
+        segments = new Record[1][];
+        shared = new boolean[1];
+        numOfShared = 0;
+        end = 0;
+        numOfTombstones = 0;
+        liveCounts = new int[1];
+        cursorIndex = -1;
+        cursorPosition = -1;
+        positions = new RecordPositionMap();
+        snapshots = new ArrayList<>();
+        epoch = 0;
+        addedAt = new RecordPositionMap();
+    }
+
+    @Override
+    public Record get(int index) {
+        return slot(positionAt(index));
+    }
+
+    @Override
+    public int size() {
+        return end - numOfTombstones;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends the record to the end of the list
+    @Override
+    public boolean add(Record record) {
+        int segment = end >>> SHIFT;
+        if (segment == segments.length) {
+            ensureCapacity(segments.length * 2 * SEGMENT_SIZE);
+        }
+        if (segments[segment] == null) {
+            segments[segment] = new Record[SEGMENT_SIZE];
+        }
+        writable(segment)[end & MASK] = record;
+        liveCounts[segment]++;
+        positions.put(record.getRecordID(), end);
+        stamp(record);
+        end++;
+        modCount++;
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: grows the array of segments ahead of time so that it holds capacity records
+    public void ensureCapacity(int capacity) {
+        int needed = (capacity + MASK) >>> SHIFT;
+        if (needed > segments.length) {
+            segments = Arrays.copyOf(segments, needed);
+            shared = Arrays.copyOf(shared, needed);
+            liveCounts = Arrays.copyOf(liveCounts, needed);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the record at index and returns the record it replaced
+    @Override
+    public Record set(int index, Record record) {
+        int position = positionAt(index);
+        Record previous = slot(position);
+        writable(position >>> SHIFT)[position & MASK] = record;
+        positions.remove(previous.getRecordID());
+        positions.put(record.getRecordID(), position);
+        stamp(record);
+        return previous;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the record at index, leaving a tombstone in its slot, and returns it
+    @Override
+    public Record remove(int index) {
+        int position = positionAt(index);
+        Record removed = slot(position);
+        bury(position);
+        return removed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes this very record, if it is in the list, in O(1); return true if it was in the list
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Record)) {
+            return false;
+        }
+        int position = positionOf((Record) o);
+        if (position < 0) {
+            return false;
+        }
+        bury(position);
+        return true;
+    }
+
+    // EFFECTS: returns true if this very record is in the list, in O(1)
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Record && positionOf((Record) o) >= 0;
+    }
+
+    // EFFECTS: returns the index of this very record, or -1 if it is not in the list
+    @Override
+    public int indexOf(Object o) {
+        int position = o instanceof Record ? positionOf((Record) o) : -1;
+        return position < 0 ? -1 : indexAt(position);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns an immutable view of the list as it is now, sharing its segments and records with this
+    public List<Record> snapshot() {
+        compact();
+        if (!hasSnapshots()) {
+            addedAt = new RecordPositionMap();
+        }
+        int used = (end + MASK) >>> SHIFT;
+        for (int i = 0; i < used; i++) {
+            if (!shared[i]) {
+                shared[i] = true;
+                numOfShared++;
+            }
+        }
+        epoch++;
+        Snapshot snapshot = new Snapshot(Arrays.copyOf(segments, used), end, epoch);
+        snapshots.add(new WeakReference<>(snapshot));
+        return snapshot;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns true if some snapshot of the list is still reachable
+    public boolean hasSnapshots() {
+        snapshots.removeIf(reference -> reference.get() == null);
+        return !snapshots.isEmpty();
+    }
+
+    // EFFECTS: returns true if the record is in the list and some snapshot still reachable holds it
+    //  without a copy of it, so that it must be frozen before it is edited
+    public boolean isShared(Record record) {
+        if (snapshots.isEmpty() || positionOf(record) < 0) {
+            return false;
+        }
+        int stamp = addedAt.get(record.getRecordID());
+        for (WeakReference<Snapshot> reference : snapshots) {
+            Snapshot snapshot = reference.get();
+            if (snapshot != null && snapshot.epoch > stamp && !snapshot.frozen.containsKey(record.getRecordID())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: if the record is in the list, makes every snapshot still reachable that holds it and has
+    //  no copy of it yet see frozen in place of the record, which is about to change
+    public void freeze(Record record, Record frozen) {
+        if (positionOf(record) < 0) {
+            return;
+        }
+        int stamp = addedAt.get(record.getRecordID());
+        for (WeakReference<Snapshot> reference : snapshots) {
+            Snapshot snapshot = reference.get();
+            if (snapshot != null && snapshot.epoch > stamp) {
+                snapshot.frozen.putIfAbsent(record.getRecordID(), frozen);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reclaims the slots of the tombstones, moving the records after them down, in O(slots)
+    public void compact() {
+        if (numOfTombstones == 0) {
+            return;
+        }
+        int live = 0;
+        Arrays.fill(liveCounts, 0);
+        for (int i = 0; i < end; i++) {
+            Record record = slot(i);
+            if (record != null) {
+                if (i != live) {
+                    writable(live >>> SHIFT)[live & MASK] = record;
+                    positions.put(record.getRecordID(), live);
+                }
+                liveCounts[live >>> SHIFT]++;
+                live++;
+            }
+        }
+        for (int i = live; i < end; i++) {
+            writable(i >>> SHIFT)[i & MASK] = null;
+        }
+        end = live;
+        numOfTombstones = 0;
+        cursorIndex = -1;
+        cursorPosition = -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stamps the record with the number of snapshots taken so far, unless it was stamped before,
+    //  so that it counts as held by every later snapshot; a record never stamped counts as held by all
+    private void stamp(Record record) {
+        if (!snapshots.isEmpty() && addedAt.get(record.getRecordID()) < 0) {
+            addedAt.put(record.getRecordID(), epoch);
+        }
+    }
+
+    // EFFECTS: returns the position of this very record, or -1 if it is not in the list
+    private int positionOf(Record record) {
+        int position = positions.get(record.getRecordID());
+        if (position < 0 || slot(position) != record) {
+            return -1;
+        }
+        return position;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: leaves a tombstone in the slot at position, compacting once tombstones fill half of the slots
+    private void bury(int position) {
+        Record[] segment = writable(position >>> SHIFT);
+        positions.remove(segment[position & MASK].getRecordID());
+        segment[position & MASK] = null;
+        liveCounts[position >>> SHIFT]--;
+        numOfTombstones++;
+        cursorIndex = -1;
+        cursorPosition = -1;
+        modCount++;
+        if (numOfTombstones * 2 > end) {
+            compact();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the position of the slot holding the record at index, skipping tombstones,
+    //  and remembers it so that the next index is found from there; removes forget it
+    private int positionAt(int index) {
+        checkIndex(index);
+        if (numOfTombstones == 0) {
+            return index;
+        }
+        int position = cursorPosition + 1;
+        int remaining = 0;
+        if (index != cursorIndex + 1) {
+            int segment = 0;
+            remaining = index;
+            while (remaining >= liveCounts[segment]) {
+                remaining -= liveCounts[segment++];
+            }
+            position = segment << SHIFT;
+        }
+        for (; remaining > 0 || slot(position) == null; position++) {
+            if (slot(position) != null) {
+                remaining--;
+            }
+        }
+        cursorIndex = index;
+        cursorPosition = position;
+        return position;
+    }
+
+    // EFFECTS: returns the index of the record in the slot at position, not counting the tombstones before it
+    private int indexAt(int position) {
+        if (numOfTombstones == 0) {
+            return position;
+        }
+        int segment = position >>> SHIFT;
+        int index = 0;
+        for (int i = 0; i < segment; i++) {
+            index += liveCounts[i];
+        }
+        for (int i = segment << SHIFT; i < position; i++) {
+            if (slot(i) != null) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    // EFFECTS: returns the record or tombstone (null) in the slot at position
+    private Record slot(int position) {
+        return segments[position >>> SHIFT][position & MASK];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the given segment, first replacing it by a private copy if it is shared
+    private Record[] writable(int segment) {
+        if (shared[segment]) {
+            segments[segment] = segments[segment].clone();
+            shared[segment] = false;
+            numOfShared--;
+        }
+        return segments[segment];
+    }
+
+    // EFFECTS: throws IndexOutOfBoundsException if index is not in [0, size)
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    // Represents the records of a segmented list at one point in time; it cannot be modified
+    //   frozen holds, by recordID, the copies of the records edited since the snapshot was taken
+    private static final class Snapshot extends AbstractList<Record> {
+        private final Record[][] segments;
+        private final int size;
+        private final int epoch;
+        private final Map<Integer, Record> frozen;
+
+        Snapshot(Record[][] segments, int size, int epoch) {
+            this.segments = segments;
+            this.size = size;
+            this.epoch = epoch;
+            this.frozen = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public Record get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            Record record = segments[index >>> SHIFT][index & MASK];
+            Record copy = frozen.isEmpty() ? null : frozen.get(record.getRecordID());
+            return copy == null ? record : copy;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Represents the arithmetic of timeIDs: 17-digit numbers of the form yyyyMMddHHmmssSSS,
+//   so that ordering records by timeID orders them by date and time
+public class TimeID {
+    private static final long DATE_FACTOR = 1000000000L;
+    private static final int NANOS_PER_MILLI = 1000000;
+
+    private TimeID() {
+    }
+
+    // EFFECTS: returns the timeID of the given date and time
+    public static long of(LocalDateTime dateTime) {
+        long date = dateOf(dateTime.toLocalDate());
+        long time = dateTime.getHour() * 100L + dateTime.getMinute();
+        time = time * 100L + dateTime.getSecond();
+        time = time * 1000L + dateTime.getNano() / NANOS_PER_MILLI;
+        return date * DATE_FACTOR + time;
+    }
+
+    // EFFECTS: returns the smallest timeID of the given day
+    public static long startOf(LocalDate date) {
+        return dateOf(date) * DATE_FACTOR;
+    }
+
+    // EFFECTS: returns the timeID with the date part of timeID replaced by the given date,
+    //  keeping its time part (HHmmssSSS) as it is
+    public static long withDate(long timeID, LocalDate date) {
+        return startOf(date) + Math.floorMod(timeID, DATE_FACTOR);
+    }
+
+    // EFFECTS: returns the given date as the number yyyyMMdd
+    private static long dateOf(LocalDate date) {
+        return date.getYear() * 10000L + date.getMonthValue() * 100L + date.getDayOfMonth();
+    }
+}
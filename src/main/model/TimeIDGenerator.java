@@ -0,0 +1,96 @@
+package model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Represents a generator of timeIDs for new records that is strictly monotonic and unique across threads
+//   each timeID is that of the current local time, or one more than the last timeID given if that is
+//   not larger, so records created in the same millisecond still get distinct, ordered timeIDs
+//   (during a burst of more than one record per millisecond, timeIDs run ahead of the clock until it ends)
+//   the timeID and zone offset of the current minute are cached, so a timeID is made with a little
+//   arithmetic and one compare-and-set, without allocating, except once per minute
+public class TimeIDGenerator {
+    private static final long MILLIS_PER_MINUTE = 60000;
+
+    private final ZoneId zone;
+    private final AtomicLong last;
+    private volatile Minute minute;
+
+    // EFFECTS: constructs a generator of timeIDs in the system's default time zone
+    public TimeIDGenerator() {
+        this(ZoneId.systemDefault());
+    }
+
+    // EFFECTS: constructs a generator of timeIDs in the given time zone
+    public TimeIDGenerator(ZoneId zone) {
+        this.zone = zone;
+        this.last = new AtomicLong(0);
+        this.minute = minuteOf(0);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a timeID for a record created now, larger than any timeID given before
+    public long next() {
+        return next(System.currentTimeMillis());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a timeID for a record created at epochMillis, larger than any timeID given before
+    public long next(long epochMillis) {
+        long candidate = timeIDOf(epochMillis);
+        while (true) {
+            long previous = last.get();
+            long next = Math.max(candidate, previous + 1);
+            if (last.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+
+    // EFFECTS: returns the timeID of the local time at epochMillis
+    public long timeIDOf(long epochMillis) {
+        return current(epochMillis).timeID + Math.floorMod(epochMillis, MILLIS_PER_MINUTE);
+    }
+
+    // EFFECTS: returns the local time at epochMillis, as milliseconds since 1970-01-01T00:00 in local time
+    public long localMillisOf(long epochMillis) {
+        return epochMillis + current(epochMillis).offsetMillis;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the cached minute holding epochMillis, replacing the cache first if needed
+    private Minute current(long epochMillis) {
+        Minute cached = minute;
+        long index = Math.floorDiv(epochMillis, MILLIS_PER_MINUTE);
+        if (cached.index != index) {
+            cached = minuteOf(index);
+            minute = cached;
+        }
+        return cached;
+    }
+
+    // EFFECTS: returns the minute with the given index since 1970-01-01T00:00Z, in this generator's zone
+    private Minute minuteOf(long index) {
+        long start = index * MILLIS_PER_MINUTE;
+        ZoneOffset offset = zone.getRules().getOffset(Instant.ofEpochMilli(start));
+        LocalDateTime localStart = LocalDateTime.ofEpochSecond(start / 1000, 0, offset);
+        return new Minute(index, TimeID.of(localStart), offset.getTotalSeconds() * 1000L);
+    }
+
+    // Represents one minute: its index, the timeID of its first millisecond and its zone offset
+    //   zone offsets are whole minutes, so every millisecond of the minute is that many after its start
+    private static final class Minute {
+        private final long index;
+        private final long timeID;
+        private final long offsetMillis;
+
+        Minute(long index, long timeID, long offsetMillis) {
+            this.index = index;
+            this.timeID = timeID;
+            this.offsetMillis = offsetMillis;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Represents the k largest records offered so far, by amount in cents, kept in a bounded min-heap
+//   so that offering n records takes O(n log k) time and O(min(k, n)) memory, the heap growing as records are kept
+//   records of equal amounts rank by recordID, the oldest first, so results never depend on the offering order
+public class TopK {
+    public static final Comparator<Record> LARGEST_FIRST =
+            Comparator.comparingLong(Record::getAmountCents).reversed().thenComparingInt(Record::getRecordID);
+
+    private final int k;
+    private final PriorityQueue<Record> heap;
+
+    // REQUIRES: k >= 0
+    // EFFECTS: constructs an empty top k
+    public TopK(int k) {
+        this.k = k;
+        this.heap = new PriorityQueue<>(LARGEST_FIRST.reversed());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps the record if it ranks among the k largest offered so far
+    public void offer(Record record) {
+        if (heap.size() < k) {
+            heap.add(record);
+        } else if (k > 0 && LARGEST_FIRST.compare(record, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(record);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: offers every given record
+    public void offerAll(Collection<? extends Record> records) {
+        for (Record record : records) {
+            offer(record);
+        }
+    }
+
+    // EFFECTS: returns the records kept, the largest first
+    public List<Record> toList() {
+        List<Record> res = new ArrayList<>(heap);
+        res.sort(LARGEST_FIRST);
+        return res;
+    }
+}
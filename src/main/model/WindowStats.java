@@ -0,0 +1,39 @@
+package model;
+
+// Represents the count and sum in cents of the records dated within a window of consecutive days
+//   averages over a window of no days or no records are 0
+public final class WindowStats {
+    private final int days;
+    private final long count;
+    private final long sumCents;
+
+    // REQUIRES: days >= 0, count >= 0
+    // EFFECTS: constructs the statistics of count records over a window of days days
+    public WindowStats(int days, long count, long sumCents) {
+        this.days = days;
+        this.count = count;
+        this.sumCents = sumCents;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSumCents() {
+        return sumCents;
+    }
+
+    // EFFECTS: returns the sum in dollars divided by the number of days of the window
+    public double getDailyAverage() {
+        return days == 0 ? 0 : Money.toDollars(sumCents) / days;
+    }
+
+    // EFFECTS: returns the sum in dollars divided by the number of records
+    public double getAverage() {
+        return count == 0 ? 0 : Money.toDollars(sumCents) / count;
+    }
+}
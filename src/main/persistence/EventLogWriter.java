@@ -0,0 +1,234 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Represents a background writer that appends the events of the event log to a file, as an audit trail
+//   a single daemon thread drains the log every interval in batches, encodes each event as one line
+//   (sequence number, epoch milliseconds and description, tab separated) into a buffer, and writes the buffer
+//   through a FileChannel, so logging an event never waits on I/O
+//   the event log itself is the bounded queue: if the writer falls more than its capacity behind, the oldest
+//   events are overwritten before being written; they are counted as dropped, and the writer carries on
+//   once the file would exceed maxFileBytes it is rotated: file.1 becomes file.2 and so on, up to maxFiles
+//   files kept, the file becomes file.1 and a new file is started
+//   closing the writer drains what is left and forces it to disk
+public class EventLogWriter {
+    public static final int BATCH_SIZE = 4096;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final long intervalMillis;
+    private final ByteBuffer buffer;
+    private final AtomicLong written;
+    private final AtomicLong dropped;
+    private final AtomicLong failures;
+    private volatile long cursor;
+    private ScheduledExecutorService executor;
+    private FileChannel channel;
+    private long fileSize;
+
+    // REQUIRES: maxFileBytes > 0, maxFiles >= 1, intervalMillis > 0
+    // EFFECTS: constructs a writer appending the events logged from now on to file, every intervalMillis
+    public EventLogWriter(Path file, long maxFileBytes, int maxFiles, long intervalMillis) {
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.intervalMillis = intervalMillis;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.written = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.failures = new AtomicLong();
+        this.cursor = EventLog.getInstance().getNextSequence();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the file for appending and starts draining in the background;
+    //  throws IOException if the file cannot be opened
+    public synchronized void start() throws IOException {
+        open();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drain, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops draining in the background, writes every event logged so far and forces the file to disk;
+    //  does nothing if the writer is not running
+    public void close() {
+        ScheduledExecutorService running;
+        synchronized (this) {
+            running = executor;
+            executor = null;
+        }
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            running.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            failures.incrementAndGet();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes every event logged since the last drain, batch by batch; an event that cannot be
+    //  written is counted as dropped
+    public synchronized void drain() {
+        if (channel == null || !channel.isOpen()) {
+            return;
+        }
+        List<Event> batch = new ArrayList<>(BATCH_SIZE);
+        long end = EventLog.getInstance().getNextSequence();
+        while (cursor < end) {
+            batch.clear();
+            long next = EventLog.getInstance().readFrom(cursor, BATCH_SIZE, batch);
+            if (next == cursor) {
+                break;
+            }
+            dropped.addAndGet(next - cursor - batch.size());
+            cursor = next;
+            try {
+                writeBatch(batch);
+                written.addAndGet(batch.size());
+            } catch (IOException e) {
+                buffer.clear();
+                failures.incrementAndGet();
+                dropped.addAndGet(batch.size());
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of events written to file
+    public long getWritten() {
+        return written.get();
+    }
+
+    // EFFECTS: returns the number of events that were overwritten before being written, or failed to be written
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    // EFFECTS: returns the number of writes to file that failed
+    public long getFailures() {
+        return failures.get();
+    }
+
+    // EFFECTS: returns the number of events logged but not yet drained
+    public long getLag() {
+        return Math.max(0, EventLog.getInstance().getNextSequence() - cursor);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encodes the events into the buffer and writes it to file whenever full and at the end,
+    //  rotating the file first whenever it would exceed maxFileBytes, unless it is empty; once rotating
+    //  fails, keeps appending to the file for the rest of the batch
+    private void writeBatch(List<Event> batch) throws IOException {
+        boolean rotatable = true;
+        for (Event event : batch) {
+            byte[] line = encode(event);
+            long size = fileSize + buffer.position();
+            if (rotatable && size > 0 && size + line.length > maxFileBytes) {
+                flushBuffer();
+                rotatable = rotate();
+            }
+            if (buffer.remaining() < line.length) {
+                flushBuffer();
+            }
+            if (line.length > buffer.capacity()) {
+                ByteBuffer wrapped = ByteBuffer.wrap(line);
+                while (wrapped.hasRemaining()) {
+                    fileSize += channel.write(wrapped);
+                }
+            } else {
+                buffer.put(line);
+            }
+        }
+        flushBuffer();
+    }
+
+    // EFFECTS: returns the line of the event: its sequence number, epoch milliseconds and description,
+    //  with line breaks and tabs in the description escaped
+    private static byte[] encode(Event event) {
+        String description = event.getDescription()
+                .replace("\\", "\\\\").replace("\n", "\\n").replace("\t", "\\t");
+        String line = event.getSequence() + "\t" + event.getTimeMillis() + "\t" + description + "\n";
+        return line.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes what the buffer holds to file and empties it
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            fileSize += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shifts the rotated files up by one, dropping the oldest, moves the file to file.1
+    //  and opens a new, empty file; if the files cannot be moved, counts a failure and opens the file again
+    //  to keep appending to it; returns true if the file was rotated
+    private boolean rotate() throws IOException {
+        channel.close();
+        try {
+            if (maxFiles == 1) {
+                Files.delete(file);
+            } else {
+                Files.deleteIfExists(rotated(maxFiles - 1));
+                for (int i = maxFiles - 2; i >= 1; i--) {
+                    if (Files.exists(rotated(i))) {
+                        Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+                Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            failures.incrementAndGet();
+            return false;
+        } finally {
+            open();
+        }
+    }
+
+    // EFFECTS: returns the path of the rotated file with the given index
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the file for appending, creating it if needed, and reads its size
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+}
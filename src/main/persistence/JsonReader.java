@@ -9,6 +9,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 // Represents a reader that reads balance sheet from JSON data stored in file
@@ -25,7 +27,7 @@ public class JsonReader {
     public BalanceSheet read() throws IOException {
         String jsonData = readFile(storeAddress);
         JSONObject json = new JSONObject(jsonData);
-        EventLog.getInstance().logEvent(new Event("Data loaded"));
+        EventLog.getInstance().logEvent(EventType.DATA_LOADED);
         return parseBalanceSheet(json);
     }
 
@@ -48,54 +50,52 @@ public class JsonReader {
     }
 
     // MODIFIES: bs
-    // EFFECTS: parses records from JSON object and adds them to balance sheet
+    // EFFECTS: parses records from JSON object and adds them to balance sheet in a single batch
     private void addRecords(BalanceSheet bs, JSONObject json) {
         JSONArray jsonArrayExpense = json.getJSONArray("expenses");
         JSONArray jsonArrayIncome = json.getJSONArray("incomes");
-        if (!jsonArrayExpense.isEmpty()) {
-            for (Object i : jsonArrayExpense) {
-                JSONObject nextExpense = (JSONObject) i;
-                addExpense(bs, nextExpense);
-            }
+        List<Record> records = new ArrayList<>(jsonArrayExpense.length() + jsonArrayIncome.length());
+        for (Object i : jsonArrayExpense) {
+            JSONObject nextExpense = (JSONObject) i;
+            records.add(parseExpense(nextExpense));
         }
 
-        if (!jsonArrayIncome.isEmpty()) {
-            for (Object j : jsonArrayIncome) {
-                JSONObject nextIncome = (JSONObject) j;
-                addIncome(bs, nextIncome);
-            }
+        for (Object j : jsonArrayIncome) {
+            JSONObject nextIncome = (JSONObject) j;
+            records.add(parseIncome(nextIncome));
         }
 
+        bs.addRecords(records);
     }
 
-    // MODIFIES: bs
-    // EFFECTS: parses expense from JSON object and adds it to balance sheet
-    private void addExpense(BalanceSheet bs, JSONObject jsonObject) {
-        double amount = jsonObject.getDouble("amount");
+    // EFFECTS: parses expense from JSON object and returns it
+    private Expense parseExpense(JSONObject jsonObject) {
+        long amountCents = Money.toCents(jsonObject.getBigDecimal("amount"));
         CharSequence dateTimeChar = jsonObject.getString("dateTime");
         LocalDateTime dateTime = LocalDateTime.parse(dateTimeChar);
         ExpenseCategory category = ExpenseCategory.valueOf(jsonObject.getString("category"));
 
-        Expense expense = new Expense(amount);
+        Expense expense = new Expense(0);
+        expense.resetAmountCents(amountCents);
         expense.classify(category);
         expense.resetDateTime(dateTime);
 
-        bs.addRecord(expense);
+        return expense;
     }
 
-    // MODIFIES: bs
-    // EFFECTS: parses income from JSON object and adds it to balance sheet
-    private void addIncome(BalanceSheet bs, JSONObject jsonObject) {
-        double amount = jsonObject.getDouble("amount");
+    // EFFECTS: parses income from JSON object and returns it
+    private Income parseIncome(JSONObject jsonObject) {
+        long amountCents = Money.toCents(jsonObject.getBigDecimal("amount"));
         CharSequence dateTimeChar = jsonObject.getString("dateTime");
         LocalDateTime dateTime = LocalDateTime.parse(dateTimeChar);
         IncomeCategory category = IncomeCategory.valueOf(jsonObject.getString("category"));
 
-        Income income = new Income(amount);
+        Income income = new Income(0);
+        income.resetAmountCents(amountCents);
         income.classify(category);
         income.resetDateTime(dateTime);
 
-        bs.addRecord(income);
+        return income;
     }
 
 }
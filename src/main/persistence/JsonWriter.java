@@ -1,8 +1,9 @@
 package persistence;
 
 import model.BalanceSheet;
-import model.Event;
+import model.BalanceSheetSnapshot;
 import model.EventLog;
+import model.EventType;
 import org.json.JSONObject;
 
 import java.io.*;
@@ -26,11 +27,17 @@ public class JsonWriter {
     }
 
     // MODIFIES: this
-    // EFFECTS: writes JSON representation of balance sheet to file
+    // EFFECTS: writes JSON representation of a snapshot of balance sheet to file
     public void write(BalanceSheet bs) {
-        JSONObject json = bs.toJson();
+        write(bs.snapshot());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes JSON representation of a balance sheet snapshot to file
+    public void write(BalanceSheetSnapshot snapshot) {
+        JSONObject json = snapshot.toJson();
         saveToFile(json.toString(TAB));
-        EventLog.getInstance().logEvent(new Event("Data saved"));
+        EventLog.getInstance().logEvent(EventType.DATA_SAVED);
     }
 
     // MODIFIES: this
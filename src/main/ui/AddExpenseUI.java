@@ -3,6 +3,7 @@ package ui;
 import model.BalanceSheet;
 import model.Expense;
 import model.ExpenseCategory;
+import model.Money;
 import ui.exception.InvalidInputException;
 
 import javax.swing.*;
@@ -56,7 +57,7 @@ public class AddExpenseUI extends JInternalFrame {
         JPanel expensePanel = new JPanel(new BorderLayout());
 
         expensePanel.add(scrollPane, BorderLayout.CENTER);
-        totalLabel = new JLabel(String.format("Total Expense: $%.2f", bs.calTotalExpense()));
+        totalLabel = new JLabel("Total Expense: $" + Money.format(bs.calTotalExpenseCents()));
         expensePanel.add(totalLabel, BorderLayout.SOUTH);
         return expensePanel;
     }
@@ -149,8 +150,9 @@ public class AddExpenseUI extends JInternalFrame {
 
         // EFFECTS: display the newly added expense and the total amounts
         private void displayNewExpense(double amount, String category, Expense expense) {
-            expenseModel.addElement(expense.getDate() + " - $" + amount + " - " + category);
-            totalLabel.setText(String.format("Total Expense: $%.2f", bs.calTotalExpense()));
+            expenseModel.addElement(expense.getDate() + " - $" + Money.format(expense.getAmountCents())
+                    + " - " + category);
+            totalLabel.setText("Total Expense: $" + Money.format(bs.calTotalExpenseCents()));
         }
 
         // EFFECTS: add an expense record
@@ -13,8 +13,8 @@ import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.regex.Pattern;
 
@@ -30,7 +30,7 @@ public class ExpenseTrackerApp {
     private static final String yearAndMonthFormat = "20[0-2]\\d-(0[0-9]|1[0-2])";
     private static final Pattern yearAndMonthPattern = Pattern.compile("20[0-2]\\d-(0[0-9]|1[0-2])");
     private static final Pattern datePattern = Pattern.compile("([12]\\d{3}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01]))");
-    private static final Pattern orderNumPattern = Pattern.compile("\\d|\\d\\d");
+    private static final Pattern recordIDPattern = Pattern.compile("\\d{1,9}");
     private static final NumberFormat numberFormatter = new DecimalFormat("#0.00");
 
 
@@ -180,7 +180,7 @@ public class ExpenseTrackerApp {
             boolean statusOfAddAmt = bs.addRecord(newIncome);
             if (statusOfAddAmt) {
                 String res = "Successfully added! Your current balance is $"
-                        + numberFormatter.format(bs.calBalance());
+                        + Money.format(bs.calBalanceCents());
                 System.out.println(res);
             } else {
                 invalidInput();
@@ -206,7 +206,7 @@ public class ExpenseTrackerApp {
             categoryNormalized = IncomeCategory.valueOf(category);
             for (IncomeCategory i : IncomeCategory.values()) {
                 if (i == categoryNormalized) {
-                    newIncome.classify(i);
+                    bs.classify(newIncome, i);
                     return newIncome;
                 }
             }
@@ -233,7 +233,7 @@ public class ExpenseTrackerApp {
             boolean statusOfAddAmt = bs.addRecord(newExpense);
             if (statusOfAddAmt) {
                 String res = "Successfully added! Your current balance is $"
-                        + numberFormatter.format(bs.calBalance());
+                        + Money.format(bs.calBalanceCents());
                 System.out.println(res);
             } else {
                 invalidInput();
@@ -258,7 +258,7 @@ public class ExpenseTrackerApp {
             categoryNormalized = ExpenseCategory.valueOf(category);
             for (ExpenseCategory i : ExpenseCategory.values()) {
                 if (categoryNormalized == i) {
-                    newExpense.classify(i);
+                    bs.classify(newExpense, i);
                 }
             }
         } catch (IllegalArgumentException e) {
@@ -316,8 +316,8 @@ public class ExpenseTrackerApp {
         if (incomeList.isEmpty()) {
             System.out.println("Have a record first!");
         } else {
-            System.out.println("Which one do you want to edit? Enter the order number.");
-            if (input.hasNext(orderNumPattern)) {
+            System.out.println("Which one do you want to edit? Enter its number.");
+            if (input.hasNext(recordIDPattern)) {
                 command = input.next();
                 Record target = bs.fetchIncome(Integer.parseInt(command));
                 if (target != null) {
@@ -366,8 +366,8 @@ public class ExpenseTrackerApp {
         if (expenseList.isEmpty()) {
             System.out.println("Have a record first!");
         } else {
-            System.out.println("Which one do you want to edit? Enter the order number.");
-            if (input.hasNext(orderNumPattern)) {
+            System.out.println("Which one do you want to edit? Enter its number.");
+            if (input.hasNext(recordIDPattern)) {
                 commendE = input.next();
                 Record target = bs.fetchExpense(Integer.parseInt(commendE));
                 if (target != null) {
@@ -415,7 +415,7 @@ public class ExpenseTrackerApp {
         try {
             String newDate;
             newDate = input.next();
-            record.resetDate(newDate);
+            bs.resetDate(record, newDate);
             System.out.println("Successfully reset the date!");
             doDisplayOneRecord(record);
         } catch (DateTimeParseException e) {
@@ -433,7 +433,7 @@ public class ExpenseTrackerApp {
 
         try {
             amount = Double.parseDouble(input.next());
-            record.resetAmount(amount);
+            bs.resetAmount(record, amount);
             System.out.println("Successfully reset the amount!");
             doDisplayOneRecord(record);
         } catch (NumberFormatException e) {
@@ -471,6 +471,8 @@ public class ExpenseTrackerApp {
         switch (commandS) {
             case "m":
                 doShowMonthStat(yearAndMonth);
+                doShowCategoryBreakdown(yearAndMonth);
+                doShowTrend();
                 break;
             case "o":
                 doShowOtherMonthStat();
@@ -481,11 +483,11 @@ public class ExpenseTrackerApp {
     //EFFECTS: display statistics menu for users
     private void statisticsMenu(String yearAndMonth) {
         String res = "In " + yearAndMonth + ", your total balance is $"
-                + numberFormatter.format(bs.totalBalanceByMonth(yearAndMonth))
+                + Money.format(bs.totalBalanceCentsByMonth(yearAndMonth))
                 + "\n" + "\tTotal expense: "
-                + numberFormatter.format(bs.totalExpenseByMonth(yearAndMonth))
+                + Money.format(bs.totalExpenseCentsByMonth(yearAndMonth))
                 + "\tTotal income: "
-                + numberFormatter.format(bs.totalIncomeByMonth(yearAndMonth));
+                + Money.format(bs.totalIncomeCentsByMonth(yearAndMonth));
         System.out.println(res);
 
         System.out.println("\nKnow more about this month? -> m");
@@ -498,10 +500,9 @@ public class ExpenseTrackerApp {
     private void doShowMonthStat(String yearAndMonth) {
         StringBuilder res = new StringBuilder();
 
-        LocalDate date = LocalDate.now();
-        int daysPast = date.getDayOfMonth();
-        double averageExp = bs.totalExpenseByMonth(yearAndMonth) / daysPast;
-        double averageInc = bs.totalIncomeByMonth(yearAndMonth) / daysPast;
+        LocalDate today = LocalDate.now();
+        double averageExp = bs.monthToDate("expense", yearAndMonth, today).getDailyAverage();
+        double averageInc = bs.monthToDate("income", yearAndMonth, today).getDailyAverage();
         res.append("In ").append(yearAndMonth).append(", your daily average expense is ");
         res.append(numberFormatter.format(averageExp));
         res.append(";\nand the daily average income is ");
@@ -530,16 +531,45 @@ public class ExpenseTrackerApp {
         if (input.hasNext(yearAndMonthPattern)) {
             String commandM = input.next();
             doShowMonthStat(commandM);
+            doShowCategoryBreakdown(commandM);
         }
     }
 
+    //EFFECTS: display the expense of each category in a given month
+    private void doShowCategoryBreakdown(String yearAndMonth) {
+        StringBuilder res = new StringBuilder("Expense by category:");
+        for (Map.Entry<ExpenseCategory, CategoryStats> entry
+                : bs.expenseBreakdown(yearAndMonth, yearAndMonth).entrySet()) {
+            CategoryStats stats = entry.getValue();
+            if (stats.getCount() > 0) {
+                res.append("\n\t").append(entry.getKey()).append(": $").append(Money.format(stats.getSumCents()));
+                res.append(" in ").append(stats.getCount()).append(" records, largest $");
+                res.append(Money.format(stats.getMaxCents()));
+            }
+        }
+        System.out.println(res);
+    }
+
+    //EFFECTS: display the expense over the trailing 7, 30 and 90 days, with its daily average
+    private void doShowTrend() {
+        String today = LocalDate.now().toString();
+        StringBuilder res = new StringBuilder("Recent expense:");
+        for (int days : new int[] {7, 30, 90}) {
+            WindowStats window = bs.trailing("expense", today, days);
+            res.append("\n\tlast ").append(days).append(" days: $").append(Money.format(window.getSumCents()));
+            res.append(" in ").append(window.getCount()).append(" records, $");
+            res.append(numberFormatter.format(window.getDailyAverage())).append(" a day");
+        }
+        System.out.println(res);
+    }
+
     //EFFECTS: display the required record information
     private void doDisplayOneRecord(Record record) {
         String res = ">>> "
-                + record.getTempID()
+                + record.getRecordID()
                 + ". " + record.getDate()
                 + " "
-                + numberFormatter.format(record.getAmount())
+                + Money.format(record.getAmountCents())
                 + " "
                 + record.getCategoryName();
         System.out.println(res);
@@ -548,11 +578,11 @@ public class ExpenseTrackerApp {
     //EFFECTS: display all records of a given month,
     // and lists are sorted by timeID
     private void doDisplayMonthlyRecord(String yearAndMonth) {
-        List<Record> expenseList = bs.listByMonth("expense", yearAndMonth);
-        List<Record> incomeList = bs.listByMonth("income", yearAndMonth);
-
-        expenseList.sort(Comparator.comparing(Record::getTimeID));
-        incomeList.sort(Comparator.comparing(Record::getTimeID));
+        YearMonth month = YearMonth.parse(yearAndMonth);
+        String firstDay = month.atDay(1).toString();
+        String lastDay = month.atEndOfMonth().toString();
+        List<Record> expenseList = bs.listBetween("expense", firstDay, lastDay);
+        List<Record> incomeList = bs.listBetween("income", firstDay, lastDay);
 
         doDisplayExpense(expenseList);
         doDisplayIncome(incomeList);
@@ -561,17 +591,15 @@ public class ExpenseTrackerApp {
     //EFFECTS: display income records of a given month
     private void doDisplayIncome(List<Record> incomeList) {
         StringBuilder incStr = new StringBuilder();
-        int orderNum = 1;
 
         if (incomeList.isEmpty()) {
             System.out.println("No income record.");
         } else {
             System.out.println("Income:");
             for (Record i : incomeList) {
-                i.setTempID(orderNum++);
-                incStr.append(i.getTempID());
+                incStr.append(i.getRecordID());
                 incStr.append(". ").append(i.getDate()).append(" ");
-                incStr.append(numberFormatter.format(i.getAmount()));
+                incStr.append(Money.format(i.getAmountCents()));
                 incStr.append(" ").append(i.getCategoryName());
                 incStr.append("\n");
             }
@@ -582,17 +610,15 @@ public class ExpenseTrackerApp {
     //EFFECTS: display expense records of a given month
     private void doDisplayExpense(List<Record> expenseList) {
         StringBuilder epStr = new StringBuilder();
-        int orderNum = 1;
 
         if (expenseList.isEmpty()) {
             System.out.println("No expense record.");
         } else {
             System.out.println("Expense:");
             for (Record i : expenseList) {
-                i.setTempID(orderNum++);
-                epStr.append(i.getTempID());
+                epStr.append(i.getRecordID());
                 epStr.append(". ").append(i.getDate()).append(" ");
-                epStr.append(numberFormatter.format(i.getAmount()));
+                epStr.append(Money.format(i.getAmountCents()));
                 epStr.append(" ").append(i.getCategoryName());
                 epStr.append("\n");
             }
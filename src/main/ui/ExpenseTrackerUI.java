@@ -3,6 +3,7 @@ package ui;
 import model.BalanceSheet;
 import model.Event;
 import model.EventLog;
+import persistence.EventLogWriter;
 import persistence.JsonReader;
 import persistence.JsonWriter;
 
@@ -14,6 +15,7 @@ import java.beans.PropertyVetoException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Paths;
 
 // Expense tracker UI
 public class ExpenseTrackerUI extends JFrame {
@@ -28,6 +30,10 @@ public class ExpenseTrackerUI extends JFrame {
     private static final int WIDTH = 700;
     private static final int HEIGHT = 700;
     private static final String JSON_STORE_ADDRESS = "./data/balancesheet.json";
+    private static final String EVENT_LOG_ADDRESS = "./data/events.log";
+    private static final long EVENT_LOG_MAX_BYTES = 10L << 20;
+    private static final int EVENT_LOG_FILES = 5;
+    private static final long EVENT_LOG_INTERVAL_MILLIS = 1000;
 
     // EFFECTS: set up the desktop with a main menu and background image
     public ExpenseTrackerUI() {
@@ -44,6 +50,7 @@ public class ExpenseTrackerUI extends JFrame {
             desktop.setBackground(new Color(255,255,255));
         }
         desktop.addMouseListener(new DesktopFocusAction());
+        startEventLogWriter();
 
         setContentPane(desktop);
         setTitle("Your Expense Tracker");
@@ -87,6 +94,19 @@ public class ExpenseTrackerUI extends JFrame {
         mainMenu.add(buttonPanel, BorderLayout.CENTER);
     }
 
+    // EFFECTS: starts appending events to the event log file in the background, writing the rest at exit
+    private void startEventLogWriter() {
+        EventLogWriter writer = new EventLogWriter(Paths.get(EVENT_LOG_ADDRESS), EVENT_LOG_MAX_BYTES,
+                EVENT_LOG_FILES, EVENT_LOG_INTERVAL_MILLIS);
+        try {
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(writer::close));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(null, "Unable to write events to " + EVENT_LOG_ADDRESS,
+                    "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     // MODIFIES: this
     // EFFECTS: center main application window on desktop
     private void centreOnScreen() {
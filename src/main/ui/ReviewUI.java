@@ -1,14 +1,13 @@
 package ui;
 
 import model.BalanceSheet;
+import model.Money;
 import model.Record;
 import ui.exception.InvalidInputException;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.List;
 
 
@@ -22,15 +21,14 @@ public class ReviewUI extends JInternalFrame {
     private JList<String> expenseList;
     private DefaultListModel<String> expenseModel;
     private BalanceSheet bs;
-    private double totalExpenseByMonth;
+    private long totalExpenseByMonth;
 
     private static final String yearAndMonthFormat = "20[0-2]\\d-(0[0-9]|1[0-2])";
-    private static final NumberFormat numberFormatter = new DecimalFormat("#0.00");
 
     public ReviewUI(BalanceSheet bs, Component parent) {
         super("Review Expenses", false, true, false, false);
         this.bs = bs;
-        totalExpenseByMonth = 0.0;
+        totalExpenseByMonth = 0;
 
         setSize(parent.getWidth(), (int) (parent.getHeight() * 0.4));
         setPosition(parent);
@@ -88,9 +86,9 @@ public class ReviewUI extends JInternalFrame {
             String yearAndMonth = periodField.getText();
             try {
                 if (yearAndMonth.matches(yearAndMonthFormat)) {
-                    totalExpenseByMonth = bs.totalExpenseByMonth(yearAndMonth);
-                    totalLabel.setText(String.format("Total Expense in " + yearAndMonth
-                            + ": $%.2f", totalExpenseByMonth));
+                    totalExpenseByMonth = bs.totalExpenseCentsByMonth(yearAndMonth);
+                    totalLabel.setText("Total Expense in " + yearAndMonth
+                            + ": $" + Money.format(totalExpenseByMonth));
                     List<Record> expenseRecordList = bs.listByMonth("expense", yearAndMonth);
                     doDisplayExpense(expenseRecordList);
                 } else {
@@ -109,17 +107,14 @@ public class ReviewUI extends JInternalFrame {
         private void doDisplayExpense(List<Record> expenseList) {
             expenseModel.clear();
 
-            int orderNum = 1;
-
             if (expenseList.isEmpty()) {
                 expenseModel.addElement("No expense in this month!");
             } else {
                 for (Record i : expenseList) {
                     StringBuilder epStr = new StringBuilder();
-                    i.setTempID(orderNum++);
-                    epStr.append(i.getTempID());
+                    epStr.append(i.getRecordID());
                     epStr.append(". ").append(i.getDate()).append(" ");
-                    epStr.append(numberFormatter.format(i.getAmount()));
+                    epStr.append(Money.format(i.getAmountCents()));
                     epStr.append(" ").append(i.getCategoryName());
                     expenseModel.addElement(String.valueOf(epStr));
                 }
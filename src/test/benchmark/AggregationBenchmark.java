@@ -0,0 +1,73 @@
+package benchmark;
+
+import model.ColumnarRecordStore;
+import model.Expense;
+import model.Money;
+import model.Record;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Compares summing amounts as doubles (the former aggregation loops) against summing whole cents as longs,
+//   both in speed and in how far the result drifts from the exact total
+//   run with: java -cp <classpath> benchmark.AggregationBenchmark [numOfRecords]
+public class AggregationBenchmark {
+    private static final int DEFAULT_RECORDS = 1000000;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS;
+        List<Record> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(new Expense(0.10 + i % 100 / 100.0));
+        }
+        ColumnarRecordStore store = new ColumnarRecordStore(n);
+        store.addAll(list);
+
+        System.out.printf("records: %d%n", n);
+        sumDoubles(list);
+        sumCents(list);
+        sumColumn(store);
+    }
+
+    // EFFECTS: prints the speed and result of summing getAmount() as doubles
+    private static void sumDoubles(List<Record> list) {
+        double total = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            total = 0;
+            for (Record record : list) {
+                total += record.getAmount();
+            }
+        }
+        report("double getAmount()", list.size(), System.nanoTime() - start, String.format("%.10f", total));
+    }
+
+    // EFFECTS: prints the speed and result of summing getAmountCents() as longs
+    private static void sumCents(List<Record> list) {
+        long total = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            total = 0;
+            for (Record record : list) {
+                total += record.getAmountCents();
+            }
+        }
+        report("long getAmountCents()", list.size(), System.nanoTime() - start, Money.format(total));
+    }
+
+    // EFFECTS: prints the speed and result of summing the cents column of a columnar store
+    private static void sumColumn(ColumnarRecordStore store) {
+        long total = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            total = store.sumCents(false);
+        }
+        report("long cents column", store.size(), System.nanoTime() - start, Money.format(total));
+    }
+
+    // EFFECTS: prints one result line
+    private static void report(String name, int n, long nanos, String total) {
+        System.out.printf("%-22s %8.1f M records/s  total %s%n", name, (double) n * ROUNDS / nanos * 1000, total);
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import model.ColumnarRecordStore;
+import model.Expense;
+import model.ExpenseCategory;
+import model.Record;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compares heap per record and scan throughput of ArrayList<Record> against ColumnarRecordStore
+//   run with: java -cp <classpath> benchmark.ColumnarStoreBenchmark [numOfRecords]
+public class ColumnarStoreBenchmark {
+    private static final int DEFAULT_RECORDS = 1000000;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS;
+
+        long before = usedHeap();
+        List<Record> list = buildList(n);
+        long listBytes = usedHeap() - before;
+
+        before = usedHeap();
+        ColumnarRecordStore store = new ColumnarRecordStore(n);
+        store.addAll(list);
+        long storeBytes = usedHeap() - before;
+
+        System.out.printf("records: %d%n", n);
+        System.out.printf("ArrayList<Record>    %6.1f bytes/record%n", (double) listBytes / n);
+        System.out.printf("ColumnarRecordStore  %6.1f bytes/record%n", (double) storeBytes / n);
+        System.out.printf("ArrayList<Record>    scan %8.1f M records/s%n", scanList(list));
+        System.out.printf("ColumnarRecordStore  scan %8.1f M records/s%n", scanStore(store));
+    }
+
+    // EFFECTS: returns n dated and classified expenses
+    private static List<Record> buildList(int n) {
+        List<Record> list = new ArrayList<>(n);
+        LocalDateTime start = LocalDateTime.of(2015, 1, 1, 0, 0);
+        ExpenseCategory[] categories = ExpenseCategory.values();
+        for (int i = 0; i < n; i++) {
+            Expense expense = new Expense(i % 10000 / 100.0);
+            expense.classify(categories[i % categories.length]);
+            expense.resetDateTime(start.plusMinutes(i * 7L));
+            list.add(expense);
+        }
+        return list;
+    }
+
+    // EFFECTS: returns millions of records summed per second over the list
+    private static double scanList(List<Record> list) {
+        double sink = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (Record record : list) {
+                sink += record.getAmount();
+            }
+        }
+        return throughput(list.size(), System.nanoTime() - start, sink);
+    }
+
+    // EFFECTS: returns millions of records summed per second over the store
+    private static double scanStore(ColumnarRecordStore store) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            sink += store.sumCents(false);
+        }
+        return throughput(store.size(), System.nanoTime() - start, sink);
+    }
+
+    // EFFECTS: returns millions of records per second; sink keeps the scan from being optimised away
+    private static double throughput(int n, long nanos, double sink) {
+        if (sink == Double.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return (double) n * ROUNDS / nanos * 1000;
+    }
+
+    // EFFECTS: returns the heap in use after a garbage collection
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,72 @@
+package benchmark;
+
+import model.BalanceSheet;
+import model.ConcurrentBalanceSheet;
+import model.Expense;
+import model.Income;
+import model.Record;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+// Compares the throughput of adding records from several threads to a balance sheet guarded
+//   by a single global lock against a ConcurrentBalanceSheet, which locks one month stripe at a time
+//   run with: java -cp <classpath> benchmark.ConcurrentIngestBenchmark [recordsPerThread]
+public class ConcurrentIngestBenchmark {
+    private static final int DEFAULT_RECORDS_PER_THREAD = 200000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS_PER_THREAD;
+        System.out.printf("records per thread: %d, cores: %d%n", n, Runtime.getRuntime().availableProcessors());
+        for (int threads : THREAD_COUNTS) {
+            List<List<Record>> batches = batches(threads, n);
+            BalanceSheet bs = new BalanceSheet();
+            double global = run(batches, record -> {
+                synchronized (bs) {
+                    bs.addRecord(record);
+                }
+            });
+            batches = batches(threads, n);
+            ConcurrentBalanceSheet cbs = new ConcurrentBalanceSheet();
+            double striped = run(batches, cbs::addRecord);
+            System.out.printf("%d threads: global lock %8.2f M records/s, striped %8.2f M records/s%n",
+                    threads, global, striped);
+        }
+    }
+
+    // EFFECTS: returns one batch of n fresh records dated across two years for each of the given threads
+    private static List<List<Record>> batches(int threads, int n) {
+        Random random = new Random(threads);
+        List<List<Record>> batches = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<Record> batch = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                Record record = i % 4 == 0 ? new Income(random.nextInt(100000) / 100.0)
+                        : new Expense(random.nextInt(10000) / 100.0);
+                record.resetDate(String.format("%d-%02d-%02d", 2022 + random.nextInt(2),
+                        1 + random.nextInt(12), 1 + random.nextInt(28)));
+                batch.add(record);
+            }
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    // EFFECTS: adds every batch from its own thread and returns the throughput in millions of records per second
+    private static double run(List<List<Record>> batches, Consumer<Record> add) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (List<Record> batch : batches) {
+            threads.add(new Thread(() -> batch.forEach(add)));
+        }
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return batches.size() * (double) batches.get(0).size() * 1000 / elapsed;
+    }
+}
@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.Event;
+import model.EventLog;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// Compares the throughput of logging events from several threads at once into the EventLog ring buffer
+//   against the former unbounded ConcurrentLinkedQueue, and the heap each retains afterwards
+//   every thread cycles through a small pool of events made up front, so only logging is timed
+//   run with: java -cp <classpath> benchmark.EventLogBenchmark [eventsPerThread]
+public class EventLogBenchmark {
+    private static final int DEFAULT_EVENTS_PER_THREAD = 2000000;
+    private static final int POOL_SIZE = 1024;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) throws InterruptedException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EVENTS_PER_THREAD;
+        System.out.printf("events per thread: %d, cores: %d, ring capacity: %d%n",
+                n, Runtime.getRuntime().availableProcessors(), EventLog.getInstance().getCapacity());
+        for (int round = 0; round < 2; round++) {
+            for (int threads : THREAD_COUNTS) {
+                Queue<Event> queue = new ConcurrentLinkedQueue<>();
+                double unbounded = run(threads, n, queue::add);
+                long queueBytes = usedHeap();
+                queue.clear();
+                EventLog.getInstance().clear();
+                double ring = run(threads, n, EventLog.getInstance()::logEvent);
+                long ringBytes = usedHeap();
+                System.out.printf("%d threads: queue %6.2f M events/s (%4d MB held), ", threads, unbounded,
+                        queueBytes >> 20);
+                System.out.printf("ring %6.2f M events/s (%4d MB held)%n", ring, ringBytes >> 20);
+            }
+        }
+    }
+
+    // EFFECTS: returns the throughput, in millions of events per second, of the given number of threads
+    //  each logging n events into log
+    private static double run(int threads, int n, Consumer<Event> log) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            Event[] pool = new Event[POOL_SIZE];
+            for (int i = 0; i < POOL_SIZE; i++) {
+                pool[i] = new Event("Benchmark event " + i);
+            }
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < n; i++) {
+                    log.accept(pool[i & (POOL_SIZE - 1)]);
+                }
+            });
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (long) threads * n * 1000.0 / (System.nanoTime() - start);
+    }
+
+    // EFFECTS: returns the heap in use after a garbage collection
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import model.Event;
+import model.EventLog;
+import model.EventType;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Compares finding the events of the last few milliseconds of a log holding millions of events
+//   by EventLog.query, which binary searches for the start of the period, against scanning every event
+//   run with: java -cp <classpath> benchmark.EventQueryBenchmark [events]
+public class EventQueryBenchmark {
+    private static final int DEFAULT_EVENTS = 4000000;
+    private static final int PAGE_SIZE = 1000;
+    private static final int RUNS = 20;
+    private static final long PERIOD_MILLIS = 10;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EVENTS;
+        EventLog log = EventLog.getInstance();
+        log.setCapacity(n);
+        for (int i = 0; i < n; i++) {
+            log.logEvent(EventType.RECORDS_ADDED, i, 0, 0, Event.NO_CATEGORY);
+        }
+        long to = System.currentTimeMillis() + 1;
+        long from = to - PERIOD_MILLIS;
+        Set<EventType> types = EnumSet.of(EventType.RECORDS_ADDED);
+        System.out.printf("events: %d, period: last %d ms%n", log.getNextSequence(), PERIOD_MILLIS);
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            int queried = 0;
+            for (int run = 0; run < RUNS; run++) {
+                queried = query(log, from, to, types);
+            }
+            double queryMicros = (System.nanoTime() - start) / 1000.0 / RUNS;
+            start = System.nanoTime();
+            int scanned = 0;
+            for (int run = 0; run < RUNS; run++) {
+                scanned = scan(log, from, to, types);
+            }
+            double scanMicros = (System.nanoTime() - start) / 1000.0 / RUNS;
+            System.out.printf("query: %d events in %10.1f us, scan: %d events in %10.1f us%n",
+                    queried, queryMicros, scanned, scanMicros);
+        }
+    }
+
+    // EFFECTS: returns the number of events of the period, read page by page through query
+    private static int query(EventLog log, long from, long to, Set<EventType> types) {
+        List<Event> page = new ArrayList<>(PAGE_SIZE);
+        int count = 0;
+        long next = 0;
+        do {
+            page.clear();
+            next = log.query(from, to, types, next, PAGE_SIZE, page);
+            count += page.size();
+        } while (page.size() == PAGE_SIZE);
+        return count;
+    }
+
+    // EFFECTS: returns the number of events of the period, found by iterating over the whole log
+    private static int scan(EventLog log, long from, long to, Set<EventType> types) {
+        int count = 0;
+        for (Event e : log) {
+            if (e.getTimeMillis() >= from && e.getTimeMillis() < to && types.contains(e.getType())) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import model.BalanceSheet;
+import model.Expense;
+import model.ParallelAggregator;
+import model.Record;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Measures recomputing the monthly expense totals of a multi-year sheet sequentially against
+//   the fork/join path at several pool sizes; every run must give the same exact total
+//   run with: java -cp <classpath> benchmark.ParallelAggregationBenchmark [numOfRecords]
+public class ParallelAggregationBenchmark {
+    private static final int DEFAULT_RECORDS = 4000000;
+    private static final int MONTHS = 60;
+    private static final int ROUNDS = 10;
+    private static final int[] PARALLELISMS = {1, 2, 4, 8};
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS;
+        List<Record> records = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Record record = new Expense(0.01 + i % 5000 / 100.0);
+            int month = i % MONTHS;
+            record.resetDate(String.format("%d-%02d-15", 2019 + month / 12, 1 + month % 12));
+            records.add(record);
+        }
+        BalanceSheet bs = new BalanceSheet();
+        bs.addRecords(records);
+        System.out.printf("records: %d over %d months, cores: %d%n", n, MONTHS,
+                Runtime.getRuntime().availableProcessors());
+
+        run("sequential", bs, new ParallelAggregator(ForkJoinPool.commonPool(), Integer.MAX_VALUE));
+        for (int parallelism : PARALLELISMS) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            run("fork/join x" + parallelism, bs, new ParallelAggregator(pool, ParallelAggregator.DEFAULT_THRESHOLD));
+            pool.shutdown();
+        }
+    }
+
+    // EFFECTS: prints the time taken to recompute the monthly totals with the given aggregator
+    private static void run(String name, BalanceSheet bs, ParallelAggregator aggregator) {
+        long total = bs.recomputeTotalCents("expense", aggregator);
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            total = bs.recomputeTotalCents("expense", aggregator);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / ROUNDS;
+        System.out.printf("%-16s %8.2f ms per pass, total %d cents, matches running total: %b%n",
+                name, millis, total, total == bs.calTotalExpenseCents());
+    }
+}
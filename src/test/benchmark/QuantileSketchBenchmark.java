@@ -0,0 +1,91 @@
+package benchmark;
+
+import model.QuantileSketch;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Measures a QuantileSketch: update throughput, amounts retained (memory), and the rank error of
+//   the median, p90 and p99 against an exact sort, for one sketch and for twelve monthly sketches merged
+//   amounts are log-normal-ish, like expenses: many small ones and a long tail
+//   run with: java -cp <classpath> benchmark.QuantileSketchBenchmark [count]
+public class QuantileSketchBenchmark {
+    private static final int DEFAULT_COUNT = 5000000;
+    private static final int MONTHS = 12;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COUNT;
+        long[] amounts = amounts(n);
+        System.out.printf("amounts: %d, k = %d%n", n, QuantileSketch.DEFAULT_K);
+        for (int round = 0; round < 2; round++) {
+            QuantileSketch sketch = new QuantileSketch();
+            long start = System.nanoTime();
+            for (long amount : amounts) {
+                sketch.update(amount);
+            }
+            long nanos = System.nanoTime() - start;
+            System.out.printf("update: %.1f M/s, retained %d amounts (%d bytes)%n",
+                    n * 1000.0 / nanos, sketch.getRetained(), sketch.getRetained() * 8);
+            if (round == 1) {
+                long[] sorted = amounts.clone();
+                Arrays.sort(sorted);
+                report("one sketch", sketch, sorted);
+                report("12 merged", merged(amounts), sorted);
+            }
+        }
+    }
+
+    // EFFECTS: returns n pseudo-random amounts in cents, mostly small with a long tail
+    private static long[] amounts(int n) {
+        Random random = new Random(7);
+        long[] amounts = new long[n];
+        for (int i = 0; i < n; i++) {
+            amounts[i] = 1 + (long) Math.exp(6 + 1.5 * random.nextGaussian());
+        }
+        return amounts;
+    }
+
+    // EFFECTS: returns the merge of one sketch per month, each over a contiguous twelfth of the amounts
+    private static QuantileSketch merged(long[] amounts) {
+        QuantileSketch res = new QuantileSketch();
+        int per = (amounts.length + MONTHS - 1) / MONTHS;
+        for (int m = 0; m < MONTHS; m++) {
+            QuantileSketch month = new QuantileSketch();
+            for (int i = m * per; i < Math.min(amounts.length, (m + 1) * per); i++) {
+                month.update(amounts[i]);
+            }
+            res.merge(month);
+        }
+        return res;
+    }
+
+    // EFFECTS: prints the estimated and exact quantiles and the rank error of each estimate
+    private static void report(String name, QuantileSketch sketch, long[] sorted) {
+        for (double q : QUANTILES) {
+            long estimate = sketch.quantile(q);
+            long exact = sorted[(int) Math.ceil(q * sorted.length) - 1];
+            int lo = lowerBound(sorted, estimate);
+            int hi = lowerBound(sorted, estimate + 1);
+            double target = q * sorted.length;
+            double error = target < lo ? lo - target : target > hi ? target - hi : 0;
+            System.out.printf("%-10s p%-4s estimate %8d exact %8d rank error %.3f%%%n",
+                    name, Math.round(q * 100), estimate, exact, error * 100.0 / sorted.length);
+        }
+    }
+
+    // EFFECTS: returns the index of the first amount not less than key
+    private static int lowerBound(long[] sorted, long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,96 @@
+package benchmark;
+
+import model.Expense;
+import model.ExpenseCategory;
+import model.Income;
+import model.IncomeCategory;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.IntFunction;
+
+// Measures the heap held per record after loading many of them, for the current Expense and Income
+//   and for a copy of the former layout (a LocalDateTime, enum references, and two DateTimeFormatters
+//   built per instance), which is kept here only to compare against
+//   run with: java -cp <classpath> benchmark.RecordFootprintBenchmark [numOfRecords]
+public class RecordFootprintBenchmark {
+    private static final int DEFAULT_RECORDS = 200000;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS;
+        System.out.printf("records: %d%n", n);
+        report("former expense layout", n, i -> {
+            FormerExpense expense = new FormerExpense(i / 100.0);
+            expense.category = ExpenseCategory.FOOD;
+            return expense;
+        });
+        report("former income layout", n, i -> {
+            FormerIncome income = new FormerIncome(i / 100.0);
+            income.incomeCategory = IncomeCategory.SALARY;
+            return income;
+        });
+        report("Expense", n, i -> {
+            Expense expense = new Expense(i / 100.0);
+            expense.classify(ExpenseCategory.FOOD);
+            return expense;
+        });
+        report("Income", n, i -> {
+            Income income = new Income(i / 100.0);
+            income.classify(IncomeCategory.SALARY);
+            return income;
+        });
+    }
+
+    // EFFECTS: prints the heap retained per object by n objects made by the factory
+    private static void report(String name, int n, IntFunction<Object> factory) {
+        Object[] records = new Object[n];
+        long before = usedHeap();
+        for (int i = 0; i < n; i++) {
+            records[i] = factory.apply(i);
+        }
+        long after = usedHeap();
+        System.out.printf("%-22s %8.1f bytes/record%n", name, (after - before) / (double) n);
+        if (records[n - 1] == null) {
+            System.out.println();
+        }
+    }
+
+    // EFFECTS: returns the heap in use after asking for garbage collection a few times
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Represents an expense laid out as it used to be
+    private static class FormerExpense {
+        private static int nextRecordID = 1;
+        private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        private final DateTimeFormatter formatterWithTime = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+        private long amountCents;
+        private LocalDateTime dateTime;
+        private ExpenseCategory category;
+        private long timeID;
+        private int tempID;
+        private final int recordID;
+
+        FormerExpense(double amount) {
+            amountCents = Math.round(amount * 100);
+            dateTime = LocalDateTime.now();
+            timeID = Long.parseLong(dateTime.format(formatterWithTime));
+            tempID = 0;
+            recordID = nextRecordID++;
+        }
+    }
+
+    // Represents an income laid out as it used to be
+    private static class FormerIncome extends FormerExpense {
+        private IncomeCategory incomeCategory;
+
+        FormerIncome(double amount) {
+            super(amount);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import model.Expense;
+import model.TimeIDGenerator;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+
+// Compares making timeIDs the former way (LocalDateTime.now(), formatted as yyyyMMddHHmmssSSS and parsed back)
+//   against a TimeIDGenerator, and counts how many of the former timeIDs collide; also times the whole
+//   Expense constructor, which now uses the generator
+//   run with: java -cp <classpath> benchmark.TimeIDBenchmark [count]
+public class TimeIDBenchmark {
+    private static final int DEFAULT_COUNT = 2000000;
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COUNT;
+        System.out.printf("timeIDs: %d%n", n);
+        for (int round = 0; round < 2; round++) {
+            former(n);
+            generator(n);
+            constructor(n);
+        }
+    }
+
+    // EFFECTS: prints the speed of the former way and how many of its timeIDs collide
+    private static void former(int n) {
+        long[] ids = new long[n];
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            ids[i] = Long.parseLong(LocalDateTime.now().format(FORMATTER));
+        }
+        report("now + format + parse", n, System.nanoTime() - start, ids);
+    }
+
+    // EFFECTS: prints the speed of a generator and how many of its timeIDs collide
+    private static void generator(int n) {
+        TimeIDGenerator generator = new TimeIDGenerator();
+        long[] ids = new long[n];
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            ids[i] = generator.next();
+        }
+        report("TimeIDGenerator.next", n, System.nanoTime() - start, ids);
+    }
+
+    // EFFECTS: prints the speed of the Expense constructor and how many of the timeIDs it gives collide
+    private static void constructor(int n) {
+        long[] ids = new long[n];
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            ids[i] = new Expense(1).getTimeID();
+        }
+        report("new Expense", n, System.nanoTime() - start, ids);
+    }
+
+    // EFFECTS: prints the throughput and the number of repeated timeIDs
+    private static void report(String name, int n, long nanos, long[] ids) {
+        Set<Long> distinct = new HashSet<>(n * 2);
+        for (long id : ids) {
+            distinct.add(id);
+        }
+        System.out.printf("%-22s %8.2f M/s, %d collisions%n", name, n * 1000.0 / nanos, n - distinct.size());
+    }
+}
@@ -4,8 +4,13 @@ import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -68,20 +73,19 @@ class BalanceSheetTest {
 
     @Test
     void testFetchIncome() {
-        inc1.setTempID(1);
         bs.addRecord(inc1);
-        Record testInc = bs.fetchIncome(1);
+        Record testInc = bs.fetchIncome(inc1.getRecordID());
+        assertSame(inc1, testInc);
         assertTrue(bs.getIncomeList().contains(testInc));
     }
 
     @Test
     void testFetchIncomeAtEndOfArray() {
-        inc1.setTempID(2);
-        inc2.setTempID(4);
         bs.addRecord(inc1);
         bs.addRecord(inc2);
 
-        Record testInc = bs.fetchIncome(4);
+        Record testInc = bs.fetchIncome(inc2.getRecordID());
+        assertSame(inc2, testInc);
         assertTrue(bs.getIncomeList().contains(testInc));
     }
 
@@ -89,13 +93,15 @@ class BalanceSheetTest {
     void testFetchIncomeNull() {
         Record nullInc = bs.fetchIncome(1);
         assertNull(nullInc);
+        bs.addRecord(ep1);
+        assertNull(bs.fetchIncome(ep1.getRecordID()));
     }
 
     @Test
     void testFetchExpense() {
-        ep1.setTempID(100);
         bs.addRecord(ep1);
-        Record testEp1 = bs.fetchExpense(100);
+        Record testEp1 = bs.fetchExpense(ep1.getRecordID());
+        assertSame(ep1, testEp1);
         assertTrue(bs.getExpenseList().contains(testEp1));
     }
 
@@ -107,16 +113,41 @@ class BalanceSheetTest {
 
     @Test
     void testFetchExpenseAtEndOfArray() {
-        ep1.setTempID(0);
-        ep2.setTempID(1);
-        ep3.setTempID(2);
         bs.addRecord(ep1);
         bs.addRecord(ep2);
         bs.addRecord(ep3);
 
-        Record testEp = bs.fetchExpense(2);
+        Record testEp = bs.fetchExpense(ep3.getRecordID());
+        assertSame(ep3, testEp);
         assertTrue(bs.getExpenseList().contains(testEp));
     }
+
+    @Test
+    void testFetchExpenseAfterDelete() {
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.deleteRecord(ep1);
+
+        assertNull(bs.fetchExpense(ep1.getRecordID()));
+        assertSame(ep2, bs.fetchExpense(ep2.getRecordID()));
+    }
+
+    @Test
+    void testAddRecordTwice() {
+        assertTrue(bs.addRecord(ep1));
+        assertFalse(bs.addRecord(ep1));
+        assertEquals(1, bs.calNumOfRecords());
+        assertEquals(5, bs.calTotalExpense());
+    }
+
+    @Test
+    void testDeleteRecordNotInSheet() {
+        bs.addRecord(ep1);
+        bs.deleteRecord(ep2);
+        bs.deleteRecord(inc1);
+        assertEquals(1, bs.calNumOfRecords());
+        assertTrue(bs.isConsistent());
+    }
     @Test
     void testDeleteRecordOfIncome() {
         bs.addRecord(inc1);
@@ -169,6 +200,750 @@ class BalanceSheetTest {
         assertEquals(nullList, bs.listByMonth("income", "2022-01"));
     }
 
+    @Test
+    void testListByMonthAcrossMonths() {
+        ep1.resetDate("2023-02-01");
+        ep2.resetDate("2023-03-15");
+        ep3.resetDate("2022-02-28");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+
+        assertEquals(List.of(ep1), bs.listByMonth("expense", "2023-02"));
+        assertEquals(List.of(ep2), bs.listByMonth("expense", "2023-03"));
+        assertEquals(List.of(ep3), bs.listByMonth("expense", "2022-02"));
+        assertTrue(bs.listByMonth("income", "2023-02").isEmpty());
+    }
+
+    @Test
+    void testListByMonthAfterDelete() {
+        ep1.resetDate("2023-02-01");
+        ep2.resetDate("2023-02-01");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.deleteRecord(ep1);
+
+        assertEquals(List.of(ep2), bs.listByMonth("expense", "2023-02"));
+        bs.deleteRecord(ep2);
+        assertTrue(bs.listByMonth("expense", "2023-02").isEmpty());
+    }
+
+    @Test
+    void testResetDateMovesRecordToNewMonth() {
+        inc1.resetDate("2023-02-22");
+        bs.addRecord(inc1);
+        bs.resetDate(inc1, "2023-04-01");
+
+        assertTrue(bs.listByMonth("income", "2023-02").isEmpty());
+        assertEquals(List.of(inc1), bs.listByMonth("income", "2023-04"));
+        assertEquals("2023-04-01", inc1.getDate());
+    }
+
+    @Test
+    void testResetDateOfRecordNotInSheet() {
+        ep1.resetDate("2023-02-01");
+        bs.resetDate(ep1, "2023-03-01");
+
+        assertEquals("2023-03-01", ep1.getDate());
+        assertTrue(bs.listByMonth("expense", "2023-03").isEmpty());
+    }
+
+    @Test
+    void testListBetweenSortedByTime() {
+        ep1.resetDateTime(LocalDateTime.of(2023, 2, 10, 8, 0));
+        ep2.resetDateTime(LocalDateTime.of(2023, 1, 31, 23, 59));
+        ep3.resetDateTime(LocalDateTime.of(2023, 2, 10, 7, 0));
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+
+        assertEquals(List.of(ep2, ep3, ep1), bs.listBetween("expense", "2023-01-31", "2023-02-10"));
+        assertEquals(List.of(ep3, ep1), bs.listBetween("expense", "2023-02-01", "2023-02-28"));
+        assertEquals(List.of(ep2), bs.listBetween("expense", "2023-01-31", "2023-01-31"));
+        assertTrue(bs.listBetween("expense", "2023-02-11", "2023-02-28").isEmpty());
+        assertTrue(bs.listBetween("expense", "2023-02-28", "2023-02-01").isEmpty());
+        assertTrue(bs.listBetween("income", "2023-01-01", "2023-12-31").isEmpty());
+    }
+
+    @Test
+    void testTotalBetween() {
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-03-01");
+        ep3.resetDate("2023-01-15");
+        inc1.resetDate("2023-02-10");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+        bs.addRecord(inc1);
+
+        assertEquals(15, bs.totalBetween("expense", "2023-02-01", "2023-03-01"));
+        assertEquals(1500, bs.totalCentsBetween("expense", "2023-02-01", "2023-03-01"));
+        assertEquals(115, bs.totalBetween("expense", "2023-01-01", "2023-12-31"));
+        assertEquals(100, bs.totalBetween("income", "2023-02-10", "2023-02-10"));
+    }
+
+    @Test
+    void testTotalBetweenAfterEdits() {
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-11");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+
+        bs.resetAmount(ep1, 7.5);
+        assertEquals(1750, bs.totalCentsBetween("expense", "2023-02-01", "2023-02-28"));
+        bs.resetDate(ep2, "2023-03-11");
+        assertEquals(750, bs.totalCentsBetween("expense", "2023-02-01", "2023-02-28"));
+        assertEquals(1000, bs.totalCentsBetween("expense", "2023-03-11", "2023-03-11"));
+        bs.deleteRecord(ep1);
+        assertEquals(0, bs.totalCentsBetween("expense", "2023-02-01", "2023-02-28"));
+    }
+
+    @Test
+    void testTotalCentsBetweenByCategory() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.FOOD);
+        ep3.classify(ExpenseCategory.TRAVEL);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        ep3.resetDate("2023-02-15");
+        inc1.classify(IncomeCategory.SALARY);
+        inc1.resetDate("2023-02-01");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+        bs.addRecord(inc1);
+
+        assertEquals(1500, bs.totalCentsBetween(ExpenseCategory.FOOD, "2023-02-01", "2023-02-28"));
+        assertEquals(500, bs.totalCentsBetween(ExpenseCategory.FOOD, "2023-02-01", "2023-02-15"));
+        assertEquals(10000, bs.totalCentsBetween(ExpenseCategory.TRAVEL, "2023-02-15", "2023-02-15"));
+        assertEquals(0, bs.totalCentsBetween(ExpenseCategory.HEALTH, "2023-01-01", "2023-12-31"));
+        assertEquals(10000, bs.totalCentsBetween(IncomeCategory.SALARY, "2023-01-01", "2023-12-31"));
+    }
+
+    @Test
+    void testClassifyMovesCategoryTotals() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        inc1.resetDate("2023-02-10");
+        bs.addRecord(ep1);
+        bs.addRecord(inc1);
+
+        bs.classify(ep1, ExpenseCategory.HEALTH);
+        bs.classify(inc1, IncomeCategory.GIFT);
+        assertEquals("HEALTH", ep1.getCategoryName());
+        assertEquals(0, bs.totalCentsBetween(ExpenseCategory.FOOD, "2023-02-01", "2023-02-28"));
+        assertEquals(500, bs.totalCentsBetween(ExpenseCategory.HEALTH, "2023-02-01", "2023-02-28"));
+        assertEquals(10000, bs.totalCentsBetween(IncomeCategory.GIFT, "2023-02-01", "2023-02-28"));
+        assertEquals(500, bs.totalCentsBetween("expense", "2023-02-01", "2023-02-28"));
+    }
+
+    @Test
+    void testStatsByMonth() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.FOOD);
+        ep3.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        ep3.resetDate("2023-03-01");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+
+        CategoryStats food = bs.statsByMonth(ExpenseCategory.FOOD, "2023-02");
+        assertEquals(2, food.getCount());
+        assertEquals(1500, food.getSumCents());
+        assertEquals(500, food.getMinCents());
+        assertEquals(1000, food.getMaxCents());
+        assertEquals(CategoryStats.EMPTY, bs.statsByMonth(ExpenseCategory.TRAVEL, "2023-02"));
+        assertEquals(CategoryStats.EMPTY, bs.statsByMonth(IncomeCategory.SALARY, "2023-02"));
+    }
+
+    @Test
+    void testStatsFollowEdits() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+
+        bs.resetAmount(ep2, 2);
+        CategoryStats food = bs.statsByMonth(ExpenseCategory.FOOD, "2023-02");
+        assertEquals(700, food.getSumCents());
+        assertEquals(200, food.getMinCents());
+        assertEquals(500, food.getMaxCents());
+
+        bs.classify(ep1, ExpenseCategory.HEALTH);
+        food = bs.statsByMonth(ExpenseCategory.FOOD, "2023-02");
+        assertEquals(1, food.getCount());
+        assertEquals(200, food.getMaxCents());
+        assertEquals(500, bs.statsByMonth(ExpenseCategory.HEALTH, "2023-02").getSumCents());
+
+        bs.resetDate(ep2, "2023-04-01");
+        assertEquals(0, bs.statsByMonth(ExpenseCategory.FOOD, "2023-02").getCount());
+        assertEquals(200, bs.statsByMonth(ExpenseCategory.FOOD, "2023-04").getMinCents());
+
+        bs.deleteRecord(ep1);
+        assertEquals(CategoryStats.EMPTY, bs.statsByMonth(ExpenseCategory.HEALTH, "2023-02"));
+    }
+
+    @Test
+    void testBreakdown() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.FOOD);
+        ep3.classify(ExpenseCategory.TRAVEL);
+        ep1.resetDate("2023-01-10");
+        ep2.resetDate("2023-03-20");
+        ep3.resetDate("2023-05-01");
+        inc1.classify(IncomeCategory.SALARY);
+        inc1.resetDate("2023-02-01");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+        bs.addRecord(inc1);
+
+        Map<ExpenseCategory, CategoryStats> expenses = bs.expenseBreakdown("2023-01", "2023-04");
+        assertEquals(ExpenseCategory.values().length, expenses.size());
+        assertEquals(2, expenses.get(ExpenseCategory.FOOD).getCount());
+        assertEquals(1500, expenses.get(ExpenseCategory.FOOD).getSumCents());
+        assertEquals(500, expenses.get(ExpenseCategory.FOOD).getMinCents());
+        assertEquals(0, expenses.get(ExpenseCategory.TRAVEL).getCount());
+        assertEquals(10000, bs.expenseBreakdown("2023-05", "2023-05").get(ExpenseCategory.TRAVEL).getSumCents());
+        assertEquals(0, bs.expenseBreakdown("2023-05", "2023-01").get(ExpenseCategory.TRAVEL).getCount());
+        assertEquals(10000, bs.incomeBreakdown("2023-01", "2023-12").get(IncomeCategory.SALARY).getSumCents());
+    }
+
+    @Test
+    void testTopByMonthAndBetween() {
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        ep3.resetDate("2023-03-01");
+        inc1.resetDate("2023-02-15");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+        bs.addRecord(inc1);
+
+        assertEquals(List.of(ep2), bs.topByMonth("expense", "2023-02", 1));
+        assertEquals(List.of(ep2, ep1), bs.topByMonth("expense", "2023-02", 5));
+        assertEquals(List.of(ep3, ep2), bs.topBetween("expense", "2023-01", "2023-03", 2));
+        assertEquals(List.of(inc1), bs.topBetween("income", "2023-01", "2023-03", 2));
+        assertTrue(bs.topBetween("expense", "2023-03", "2023-01", 2).isEmpty());
+        assertTrue(bs.topByMonth("expense", "2023-02", 0).isEmpty());
+        assertEquals(List.of(ep2, ep1), bs.topByMonth("expense", "2023-02", Integer.MAX_VALUE));
+        assertEquals(List.of(ep3, ep2, ep1), bs.topBetween("expense", "2023-01", "2023-03", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testTopBetweenByCategory() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.TRAVEL);
+        ep3.classify(ExpenseCategory.FOOD);
+        inc1.classify(IncomeCategory.SALARY);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        ep3.resetDate("2023-03-01");
+        inc1.resetDate("2023-03-02");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+        bs.addRecord(inc1);
+
+        assertEquals(List.of(ep3, ep1), bs.topBetween(ExpenseCategory.FOOD, "2023-01", "2023-12", 3));
+        assertEquals(List.of(ep2), bs.topBetween(ExpenseCategory.TRAVEL, "2023-01", "2023-12", 3));
+        assertEquals(List.of(inc1), bs.topBetween(IncomeCategory.SALARY, "2023-03", "2023-03", 3));
+        assertTrue(bs.topBetween(IncomeCategory.LEASE, "2023-01", "2023-12", 3).isEmpty());
+    }
+
+    @Test
+    void testTopFollowsEdits() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        ep3.resetDate("2023-02-25");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+        assertEquals(List.of(ep3), bs.topByMonth("expense", "2023-02", 1));
+        assertEquals(List.of(ep2), bs.topBetween(ExpenseCategory.FOOD, "2023-02", "2023-02", 1));
+
+        bs.resetAmount(ep1, 200);
+        assertEquals(List.of(ep1), bs.topByMonth("expense", "2023-02", 1));
+        assertEquals(List.of(ep1), bs.topBetween(ExpenseCategory.FOOD, "2023-02", "2023-02", 1));
+        bs.classify(ep1, ExpenseCategory.TRAVEL);
+        assertEquals(List.of(ep2), bs.topBetween(ExpenseCategory.FOOD, "2023-02", "2023-02", 1));
+        bs.resetDate(ep1, "2023-04-01");
+        assertEquals(List.of(ep3, ep2), bs.topByMonth("expense", "2023-02", 2));
+        bs.deleteRecord(ep3);
+        assertEquals(List.of(ep1, ep2), bs.topBetween("expense", "2023-01", "2023-12", 2));
+    }
+
+    @Test
+    void testTopGrowsCachedK() {
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        ep3.resetDate("2023-02-25");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+        assertEquals(List.of(ep3), bs.topByMonth("expense", "2023-02", 1));
+        assertEquals(List.of(ep3, ep2, ep1), bs.topByMonth("expense", "2023-02", 3));
+        assertEquals(List.of(ep3, ep2), bs.topByMonth("expense", "2023-02", 2));
+    }
+
+    @Test
+    void testSketchBetween() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.FOOD);
+        ep3.classify(ExpenseCategory.TRAVEL);
+        inc1.classify(IncomeCategory.SALARY);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-03-20");
+        ep3.resetDate("2023-03-01");
+        inc1.resetDate("2023-03-02");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+        bs.addRecord(inc1);
+
+        QuantileSketch food = bs.sketchBetween(ExpenseCategory.FOOD, "2023-01", "2023-12");
+        assertEquals(2, food.getCount());
+        assertEquals(500, food.quantile(0.5));
+        assertEquals(1000, food.quantile(0.9));
+        assertEquals(1, bs.sketchBetween(ExpenseCategory.FOOD, "2023-03", "2023-03").getCount());
+        assertEquals(10000, bs.sketchBetween("expense", "2023-03", "2023-03").quantile(1));
+        assertEquals(10000, bs.sketchBetween(IncomeCategory.SALARY, "2023-03", "2023-03").quantile(0.5));
+        assertEquals(0, bs.sketchBetween("income", "2023-04", "2023-12").getCount());
+        assertEquals(0, bs.sketchBetween("expense", "2023-12", "2023-01").getCount());
+    }
+
+    @Test
+    void testSketchFollowsEdits() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        assertEquals(1000, bs.sketchBetween(ExpenseCategory.FOOD, "2023-02", "2023-02").quantile(0.9));
+
+        bs.resetAmount(ep2, 2);
+        assertEquals(500, bs.sketchBetween(ExpenseCategory.FOOD, "2023-02", "2023-02").quantile(0.9));
+        bs.deleteRecord(ep1);
+        QuantileSketch food = bs.sketchBetween(ExpenseCategory.FOOD, "2023-02", "2023-02");
+        assertEquals(1, food.getCount());
+        assertEquals(200, food.quantile(0.5));
+        ep3.resetDate("2023-02-25");
+        bs.addRecord(ep3);
+        assertEquals(2, bs.sketchBetween("expense", "2023-01", "2023-12").getCount());
+    }
+
+    @Test
+    void testTrailing() {
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-16");
+        ep3.resetDate("2023-01-20");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(ep3);
+
+        WindowStats week = bs.trailing("expense", "2023-02-16", 7);
+        assertEquals(7, week.getDays());
+        assertEquals(2, week.getCount());
+        assertEquals(1500, week.getSumCents());
+        assertEquals(1000, bs.trailing("expense", "2023-02-16", 6).getSumCents());
+        WindowStats month = bs.trailing("expense", "2023-02-16", 30);
+        assertEquals(3, month.getCount());
+        assertEquals(11500, month.getSumCents());
+        assertEquals(0, bs.trailing("expense", "2023-02-16", 0).getCount());
+        assertEquals(0, bs.trailing("income", "2023-02-16", 30).getCount());
+
+        bs.deleteRecord(ep3);
+        bs.resetDate(ep1, "2023-02-15");
+        bs.resetAmount(ep2, 1);
+        week = bs.trailing("expense", "2023-02-16", 7);
+        assertEquals(2, week.getCount());
+        assertEquals(600, week.getSumCents());
+        assertEquals(2, bs.trailing("expense", "2023-02-16", 30).getCount());
+    }
+
+    @Test
+    void testTrailingAfterBatchAndMonthDelete() {
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-10");
+        ep3.resetDate("2023-03-01");
+        bs.addRecords(List.of(ep1, ep2, ep3));
+        assertEquals(3, bs.trailing("expense", "2023-03-01", 30).getCount());
+
+        bs.deleteByMonth("expense", "2023-02");
+        WindowStats month = bs.trailing("expense", "2023-03-01", 30);
+        assertEquals(1, month.getCount());
+        assertEquals(10000, month.getSumCents());
+    }
+
+    @Test
+    void testMonthToDate() {
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-28");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        LocalDate today = LocalDate.parse("2023-02-14");
+
+        WindowStats current = bs.monthToDate("expense", "2023-02", today);
+        assertEquals(14, current.getDays());
+        assertEquals(1, current.getCount());
+        assertEquals(5.0 / 14, current.getDailyAverage());
+        WindowStats past = bs.monthToDate("expense", "2023-02", LocalDate.parse("2023-05-01"));
+        assertEquals(28, past.getDays());
+        assertEquals(15.0 / 28, past.getDailyAverage());
+        WindowStats future = bs.monthToDate("expense", "2023-03", today);
+        assertEquals(0, future.getDays());
+        assertEquals(0, future.getDailyAverage());
+    }
+
+    @Test
+    void testBudgetFollowsChanges() {
+        List<Integer> reached = new ArrayList<>();
+        bs.getBudgets().addListener((budget, percent) -> reached.add(percent));
+        ep1.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        bs.addRecord(ep1);
+        Budget food = bs.addBudget(ExpenseCategory.FOOD, "2023-02", 1000);
+        Budget all = bs.addBudget(null, "2023-02", 2000);
+        assertEquals(500, food.getConsumedCents());
+        assertEquals(500, all.getConsumedCents());
+
+        ep2.classify(ExpenseCategory.FOOD);
+        ep2.resetDate("2023-02-20");
+        bs.addRecord(ep2);
+        assertEquals(List.of(80, 100), reached);
+        bs.resetAmount(ep2, 2);
+        assertEquals(700, food.getConsumedCents());
+        bs.deleteRecord(ep1);
+        assertEquals(200, food.getConsumedCents());
+        bs.classify(ep2, ExpenseCategory.TRAVEL);
+        assertEquals(0, food.getConsumedCents());
+        assertEquals(200, all.getConsumedCents());
+        bs.resetDate(ep2, "2023-03-01");
+        assertEquals(0, all.getConsumedCents());
+        bs.addRecord(inc2);
+        assertEquals(0, all.getConsumedCents());
+    }
+
+    @Test
+    void testBudgetFollowsBatches() {
+        Budget all = bs.addBudget(null, "2023-02", 2000);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        ep3.resetDate("2023-03-01");
+        bs.addRecords(List.of(ep1, ep2, ep3));
+        assertEquals(1500, all.getConsumedCents());
+        bs.deleteByMonth("expense", "2023-02");
+        assertEquals(0, all.getConsumedCents());
+        assertTrue(bs.removeBudget(all));
+        assertTrue(bs.getBudgets().budgetsOf(YearMonth.of(2023, 2)).isEmpty());
+    }
+
+    @Test
+    void testBudgetIgnoresRecordsNotInSheet() {
+        Budget all = bs.addBudget(null, "2023-02", 2000);
+        ep1.resetDate("2023-02-10");
+        bs.resetAmount(ep1, 10);
+        bs.classify(ep1, ExpenseCategory.FOOD);
+        bs.resetDate(ep1, "2023-02-11");
+        bs.deleteRecord(ep1);
+        assertEquals(0, all.getConsumedCents());
+    }
+
+    @Test
+    void testSnapshotIgnoresLaterAddsAndDeletes() {
+        bs.addRecord(ep1);
+        bs.addRecord(inc1);
+        BalanceSheetSnapshot snapshot = bs.snapshot();
+
+        bs.addRecord(ep2);
+        bs.deleteRecord(inc1);
+        assertEquals(2, snapshot.calNumOfRecords());
+        assertEquals(500, snapshot.calTotalExpenseCents());
+        assertEquals(10000, snapshot.calTotalIncomeCents());
+        assertEquals(9500, snapshot.calBalanceCents());
+        assertEquals(1, snapshot.getExpenseList().size());
+        assertSame(inc1, snapshot.getIncomeList().get(0));
+        assertEquals(2, bs.getExpenseList().size());
+        assertEquals(0, bs.getIncomeList().size());
+    }
+
+    @Test
+    void testSnapshotIgnoresLaterEdits() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        bs.addRecord(ep1);
+        BalanceSheetSnapshot snapshot = bs.snapshot();
+
+        bs.resetAmount(ep1, 7);
+        bs.resetDate(ep1, "2023-03-10");
+        bs.classify(ep1, ExpenseCategory.HEALTH);
+        Record frozen = snapshot.getExpenseList().get(0);
+        assertNotSame(ep1, frozen);
+        assertEquals(ep1.getRecordID(), frozen.getRecordID());
+        assertEquals(500, frozen.getAmountCents());
+        assertEquals("2023-02-10", frozen.getDate());
+        assertEquals("FOOD", frozen.getCategoryName());
+        assertEquals(500, snapshot.calTotalExpenseCents());
+        assertEquals(1, snapshot.listByMonth("expense", "2023-02").size());
+        assertEquals(0, snapshot.listByMonth("expense", "2023-03").size());
+        assertSame(ep1, bs.getExpenseList().get(0));
+        assertEquals(700, bs.calTotalExpenseCents());
+    }
+
+    @Test
+    void testListsAreReadOnly() {
+        bs.addRecord(ep1);
+        bs.addRecord(inc1);
+        assertThrows(UnsupportedOperationException.class, () -> bs.getExpenseList().add(ep2));
+        assertThrows(UnsupportedOperationException.class, () -> bs.getExpenseList().remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> bs.getIncomeList().set(0, inc1));
+        assertEquals(500, bs.calTotalExpenseCents());
+    }
+
+    @Test
+    void testRejectsCopyOfRecorded() {
+        bs.addRecord(ep1);
+        assertFalse(bs.addRecord(ep1.copy()));
+        assertEquals(0, bs.addRecords(List.of(ep1.copy(), ep1)));
+        assertEquals(1, bs.getExpenseList().size());
+        assertEquals(500, bs.calTotalExpenseCents());
+        assertSame(ep1, bs.fetchExpense(ep1.getRecordID()));
+        bs.deleteRecord(ep1);
+        assertEquals(0, bs.getExpenseList().size());
+        assertEquals(0, bs.calTotalExpenseCents());
+    }
+
+    @Test
+    void testSnapshotIgnoresEditsAfterAdd() {
+        bs.addRecord(ep1);
+        BalanceSheetSnapshot snapshot = bs.snapshot();
+        bs.addRecord(ep2);
+        bs.resetAmount(ep1, 999);
+
+        assertEquals(500, snapshot.getExpenseList().get(0).getAmountCents());
+        assertEquals(500, snapshot.calTotalExpenseCents());
+        assertEquals(5.0, snapshot.toJson().getJSONArray("expenses").getJSONObject(0).getDouble("amount"));
+        assertEquals(99900, ep1.getAmountCents());
+    }
+
+    @Test
+    void testEverySnapshotIgnoresLaterEdits() {
+        bs.addRecord(ep1);
+        BalanceSheetSnapshot first = bs.snapshot();
+        bs.addRecord(ep2);
+        BalanceSheetSnapshot second = bs.snapshot();
+        bs.resetAmount(ep1, 999);
+        bs.resetAmount(ep2, 888);
+
+        assertEquals(500, first.getExpenseList().get(0).getAmountCents());
+        assertEquals(1, first.getExpenseList().size());
+        assertEquals(500, second.getExpenseList().get(0).getAmountCents());
+        assertEquals(ep2.getRecordID(), second.getExpenseList().get(1).getRecordID());
+        assertEquals(1000, second.getExpenseList().get(1).getAmountCents());
+    }
+
+    @Test
+    void testSnapshotIteratesWhileAdding() {
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        BalanceSheetSnapshot snapshot = bs.snapshot();
+        int seen = 0;
+        for (Record ignored : snapshot.getExpenseList()) {
+            bs.addRecord(new Expense(1));
+            seen++;
+        }
+        assertEquals(2, seen);
+        assertEquals(4, bs.getExpenseList().size());
+    }
+
+    @Test
+    void testSnapshotToJson() {
+        bs.addRecord(ep1);
+        bs.addRecord(inc1);
+        BalanceSheetSnapshot snapshot = bs.snapshot();
+        bs.resetAmount(ep1, 9);
+        JSONObject json = snapshot.toJson();
+        assertEquals(5, json.getJSONArray("expenses").getJSONObject(0).getDouble("amount"));
+        assertEquals(9, bs.toJson().getJSONArray("expenses").getJSONObject(0).getDouble("amount"));
+    }
+
+    @Test
+    void testAddRecords() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        ep2.classify(ExpenseCategory.FOOD);
+        ep2.resetDate("2023-02-10");
+        inc1.resetDate("2023-02-11");
+        bs.addRecord(ep3);
+
+        assertEquals(3, bs.addRecords(List.of(ep1, ep2, inc1, ep3, ep1)));
+        assertEquals(4, bs.calNumOfRecords());
+        assertEquals(11500, bs.calTotalExpenseCents());
+        assertEquals(10000, bs.calTotalIncomeCents());
+        assertEquals(1500, bs.totalCentsBetween("expense", "2023-02-10", "2023-02-10"));
+        assertEquals(1500, bs.totalCentsBetween(ExpenseCategory.FOOD, "2023-02-01", "2023-02-28"));
+        assertEquals(2, bs.statsByMonth(ExpenseCategory.FOOD, "2023-02").getCount());
+        assertSame(ep2, bs.fetchExpense(ep2.getRecordID()));
+        assertEquals(List.of(ep3, ep1, ep2), bs.getExpenseList());
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testReviewsLeftOutBelowLevel() {
+        bs.addRecord(ep1);
+        EventLog.getInstance().clear();
+        EventLog.getInstance().setLevel(EventLevel.INFO);
+        try {
+            assertEquals(1, bs.listByMonth("expense", ep1.getDate().substring(0, 7)).size());
+            bs.listBetween("expense", ep1.getDate(), ep1.getDate());
+            bs.deleteByMonth("income", "2020-01");
+        } finally {
+            EventLog.getInstance().setLevel(EventLevel.DEBUG);
+        }
+        List<String> descriptions = new ArrayList<>();
+        for (Event event : EventLog.getInstance()) {
+            descriptions.add(event.getDescription());
+        }
+        assertEquals(List.of("Event log cleared.", "0 records of 2020-01 deleted"), descriptions);
+    }
+
+    @Test
+    void testAddRecordsLogsOneEvent() {
+        EventLog.getInstance().clear();
+        List<Record> records = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            records.add(i % 2 == 0 ? new Expense(i) : new Income(i));
+        }
+        assertEquals(2000, bs.addRecords(records));
+
+        List<String> descriptions = new ArrayList<>();
+        for (Event event : EventLog.getInstance()) {
+            descriptions.add(event.getDescription());
+        }
+        assertEquals(List.of("Event log cleared.", "1000 expenses and 1000 incomes added to Balance Sheet"),
+                descriptions);
+        assertEquals(2000, bs.calNumOfRecords());
+        assertTrue(bs.isConsistent());
+
+        assertEquals(0, bs.addRecords(records));
+        assertEquals(0, bs.addRecords(new ArrayList<>()));
+        int logged = 0;
+        for (Event event : EventLog.getInstance()) {
+            logged++;
+        }
+        assertEquals(2, logged);
+    }
+
+    @Test
+    void testRecomputeTotalsByMonth() {
+        ep1.resetDate("2023-01-10");
+        ep2.resetDate("2023-03-10");
+        ep3.resetDate("2023-03-11");
+        bs.addRecords(List.of(ep1, ep2, ep3, inc1));
+        ParallelAggregator aggregator = new ParallelAggregator(ForkJoinPool.commonPool(), 1);
+
+        Map<YearMonth, Long> totals = bs.recomputeTotalsByMonth("expense", aggregator);
+        assertEquals(Map.of(YearMonth.of(2023, 1), 500L, YearMonth.of(2023, 3), 11000L), totals);
+        assertEquals(bs.calTotalExpenseCents(), bs.recomputeTotalCents("expense", aggregator));
+        assertEquals(10000, bs.recomputeTotalCents("income", new ParallelAggregator()));
+    }
+
+    @Test
+    void testDeleteByMonth() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-20");
+        ep3.resetDate("2023-03-01");
+        inc1.resetDate("2023-02-10");
+        bs.addRecords(List.of(ep1, ep2, ep3, inc1));
+
+        assertEquals(2, bs.deleteByMonth("expense", "2023-02"));
+        assertEquals(0, bs.deleteByMonth("expense", "2023-02"));
+        assertEquals(List.of(ep3), bs.getExpenseList());
+        assertEquals(1, bs.getIncomeList().size());
+        assertEquals(10000, bs.calTotalExpenseCents());
+        assertEquals(0, bs.totalExpenseCentsByMonth("2023-02"));
+        assertEquals(0, bs.totalCentsBetween("expense", "2023-02-01", "2023-02-28"));
+        assertEquals(0, bs.statsByMonth(ExpenseCategory.FOOD, "2023-02").getCount());
+        assertNull(bs.fetchExpense(ep1.getRecordID()));
+        assertEquals(List.of(ep3), new ArrayList<>(bs.recordsByTime("expense")));
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testDeleteManyKeepsOrderAndTotals() {
+        List<Record> records = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            records.add(new Expense(1));
+        }
+        bs.addRecords(records);
+        for (int i = 0; i < 3000; i += 3) {
+            bs.deleteRecord(records.get(i));
+        }
+        assertEquals(2000, bs.calNumOfRecords());
+        assertEquals(200000, bs.calTotalExpenseCents());
+        assertSame(records.get(1), bs.getExpenseList().get(0));
+        assertSame(records.get(2999), bs.getExpenseList().get(1999));
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testResetDateTime() {
+        ep1.classify(ExpenseCategory.FOOD);
+        ep1.resetDate("2023-02-10");
+        ep2.resetDate("2023-02-11");
+        bs.addRecords(List.of(ep1, ep2));
+
+        bs.resetDateTime(ep1, LocalDateTime.of(2023, 4, 1, 8, 0));
+        assertEquals(20230401080000000L, ep1.getTimeID());
+        assertEquals(1000, bs.totalExpenseCentsByMonth("2023-02"));
+        assertEquals(500, bs.totalCentsBetween(ExpenseCategory.FOOD, "2023-04-01", "2023-04-01"));
+        assertEquals(1, bs.statsByMonth(ExpenseCategory.FOOD, "2023-04").getCount());
+        assertEquals(List.of(ep2, ep1), new ArrayList<>(bs.recordsByTime("expense")));
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testResetDates() {
+        List<Record> records = new ArrayList<>();
+        for (int i = 1; i <= 28; i++) {
+            Expense expense = new Expense(1);
+            expense.resetDate(String.format("2023-02-%02d", i));
+            records.add(expense);
+        }
+        bs.addRecords(records);
+        bs.resetDates(records.subList(0, 10), "2023-05-05");
+
+        assertEquals(1800, bs.totalExpenseCentsByMonth("2023-02"));
+        assertEquals(1000, bs.totalCentsBetween("expense", "2023-05-05", "2023-05-05"));
+        assertEquals(10, bs.listBetween("expense", "2023-05-01", "2023-05-31").size());
+        assertEquals(20230505L, records.get(3).getTimeID() / 1000000000L);
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testRecordsByTimeAfterResetDateAndDelete() {
+        inc1.resetDate("2023-02-22");
+        inc2.resetDate("2023-02-02");
+        bs.addRecord(inc1);
+        bs.addRecord(inc2);
+        assertEquals(List.of(inc2, inc1), new ArrayList<>(bs.recordsByTime("income")));
+
+        bs.resetDate(inc2, "2023-03-01");
+        assertEquals(List.of(inc1, inc2), new ArrayList<>(bs.recordsByTime("income")));
+        assertEquals(List.of(inc2), bs.listBetween("income", "2023-03-01", "2023-03-01"));
+
+        bs.deleteRecord(inc1);
+        assertEquals(List.of(inc2), new ArrayList<>(bs.recordsByTime("income")));
+        assertTrue(bs.recordsByTime("expense").isEmpty());
+    }
 
     @Test
     void testTotalExpenseByMonth() {
@@ -209,6 +984,92 @@ class BalanceSheetTest {
         assertEquals(1100 - 115, bs.totalBalanceByMonth("2023-02"));
     }
 
+    @Test
+    void testTotalsAfterResetAmount() {
+        ep1.resetDate("2023-02-01");
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.resetAmount(ep1, 50);
+
+        assertEquals(50, ep1.getAmount());
+        assertEquals(60, bs.calTotalExpense());
+        assertEquals(50, bs.totalExpenseByMonth("2023-02"));
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testTotalsAfterResetDate() {
+        inc1.resetDate("2023-02-22");
+        inc2.resetDate("2023-02-02");
+        bs.addRecord(inc1);
+        bs.addRecord(inc2);
+        bs.resetDate(inc2, "2023-03-02");
+
+        assertEquals(100, bs.totalIncomeByMonth("2023-02"));
+        assertEquals(1000, bs.totalIncomeByMonth("2023-03"));
+        assertEquals(1100, bs.calTotalIncome());
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testTotalsAfterDelete() {
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+        bs.addRecord(inc1);
+        bs.deleteRecord(ep2);
+        bs.deleteRecord(inc1);
+
+        assertEquals(5, bs.calTotalExpense());
+        assertEquals(0, bs.calTotalIncome());
+        assertEquals(-5, bs.calBalance());
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testResetAmountOfRecordNotInSheet() {
+        bs.addRecord(ep1);
+        bs.resetAmount(ep2, 20);
+
+        assertEquals(20, ep2.getAmount());
+        assertEquals(5, bs.calTotalExpense());
+        assertTrue(bs.isConsistent());
+    }
+
+    @Test
+    void testIsConsistentDetectsDirectEdit() {
+        bs.addRecord(ep1);
+        assertTrue(bs.isConsistent());
+        ep1.resetAmount(42);
+        assertFalse(bs.isConsistent());
+    }
+
+    @Test
+    void testTotalsAreExact() {
+        for (int i = 0; i < 10; i++) {
+            Expense dime = new Expense(0.10);
+            dime.resetDate("2023-02-01");
+            bs.addRecord(dime);
+        }
+        bs.addRecord(inc1);
+
+        assertEquals(100, bs.calTotalExpenseCents());
+        assertEquals(1.00, bs.calTotalExpense());
+        assertEquals(10000, bs.calTotalIncomeCents());
+        assertEquals(9900, bs.calBalanceCents());
+        assertEquals(100, bs.totalExpenseCentsByMonth("2023-02"));
+        assertEquals(-100, bs.totalBalanceCentsByMonth("2023-02"));
+    }
+
+    @Test
+    void testResetAmountCents() {
+        bs.addRecord(inc1);
+        bs.resetAmountCents(inc1, 12345);
+
+        assertEquals(123.45, inc1.getAmount());
+        assertEquals(12345, bs.calTotalIncomeCents());
+        assertTrue(bs.isConsistent());
+    }
+
     @Test
     void testCalTotalExpense() {
         bs.addRecord(ep1);
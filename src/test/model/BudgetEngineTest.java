@@ -0,0 +1,128 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static model.ExpenseCategory.FOOD;
+import static model.ExpenseCategory.TRAVEL;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BudgetEngineTest {
+    BudgetEngine engine;
+    List<String> reached;
+    YearMonth feb;
+    YearMonth mar;
+
+    @BeforeEach
+    void setUp() {
+        engine = new BudgetEngine();
+        reached = new ArrayList<>();
+        engine.addListener((budget, percent) -> reached.add(budget.getCategory() + " " + percent));
+        feb = YearMonth.of(2023, 2);
+        mar = YearMonth.of(2023, 3);
+    }
+
+    @Test
+    void testThresholdsReachedOnce() {
+        Budget food = engine.add(new Budget(feb, FOOD, 1000, 0));
+        engine.apply(feb, FOOD.ordinal(), 700);
+        assertTrue(reached.isEmpty());
+        engine.apply(feb, FOOD.ordinal(), 100);
+        assertEquals(List.of("FOOD 80"), reached);
+        engine.apply(feb, FOOD.ordinal(), 50);
+        engine.apply(feb, FOOD.ordinal(), 500);
+        assertEquals(List.of("FOOD 80", "FOOD 100"), reached);
+        assertEquals(1350, food.getConsumedCents());
+        assertEquals(-350, food.getRemainingCents());
+    }
+
+    @Test
+    void testCustomThresholdsAreCopied() {
+        int[] thresholds = {50};
+        BudgetEngine custom = new BudgetEngine(thresholds);
+        custom.addListener((budget, percent) -> reached.add(budget.getCategory() + " " + percent));
+        thresholds[0] = 90;
+        custom.add(new Budget(feb, FOOD, 1000, 0));
+        custom.apply(feb, FOOD.ordinal(), 600);
+        assertEquals(List.of("FOOD 50"), reached);
+    }
+
+    @Test
+    void testFallingBelowReArms() {
+        engine.add(new Budget(feb, FOOD, 1000, 0));
+        engine.apply(feb, FOOD.ordinal(), 1200);
+        assertEquals(List.of("FOOD 80", "FOOD 100"), reached);
+        engine.apply(feb, FOOD.ordinal(), -500);
+        engine.apply(feb, FOOD.ordinal(), 200);
+        assertEquals(List.of("FOOD 80", "FOOD 100", "FOOD 80"), reached);
+    }
+
+    @Test
+    void testOnlyMatchingBudgetsConsume() {
+        Budget all = engine.add(new Budget(feb, null, 1000, 0));
+        Budget food = engine.add(new Budget(feb, FOOD, 1000, 0));
+        Budget travel = engine.add(new Budget(feb, TRAVEL, 1000, 0));
+        Budget march = engine.add(new Budget(mar, FOOD, 1000, 0));
+        engine.apply(feb, FOOD.ordinal(), 300);
+        engine.apply(feb, -1, 200);
+        assertEquals(500, all.getConsumedCents());
+        assertEquals(300, food.getConsumedCents());
+        assertEquals(0, travel.getConsumedCents());
+        assertEquals(0, march.getConsumedCents());
+        assertEquals(List.of(all, food, travel), engine.budgetsOf(feb));
+    }
+
+    @Test
+    void testMoveWithinMonthLeavesMonthBudgetAlone() {
+        engine.add(new Budget(feb, null, 1000, 0));
+        Budget travel = engine.add(new Budget(feb, TRAVEL, 1000, 0));
+        engine.apply(feb, FOOD.ordinal(), 900);
+        engine.move(feb, FOOD.ordinal(), feb, TRAVEL.ordinal(), 900);
+        assertEquals(List.of("null 80", "TRAVEL 80"), reached);
+        assertEquals(900, travel.getConsumedCents());
+        engine.move(feb, TRAVEL.ordinal(), mar, TRAVEL.ordinal(), 900);
+        assertEquals(0, travel.getConsumedCents());
+        assertEquals(0, engine.budgetsOf(feb).get(0).getConsumedCents());
+    }
+
+    @Test
+    void testAddAlreadyReachedDoesNotNotify() {
+        engine.add(new Budget(feb, FOOD, 1000, 900));
+        engine.apply(feb, FOOD.ordinal(), 50);
+        assertTrue(reached.isEmpty());
+        engine.apply(feb, FOOD.ordinal(), 50);
+        assertEquals(List.of("FOOD 100"), reached);
+    }
+
+    @Test
+    void testRemove() {
+        Budget food = engine.add(new Budget(feb, FOOD, 1000, 0));
+        assertTrue(engine.remove(food));
+        assertFalse(engine.remove(food));
+        assertFalse(engine.remove(new Budget(mar, FOOD, 1000, 0)));
+        engine.apply(feb, FOOD.ordinal(), 1000);
+        assertEquals(0, food.getConsumedCents());
+        assertTrue(reached.isEmpty());
+    }
+
+    @Test
+    void testManyBudgets() {
+        List<Budget> budgets = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            for (int i = 0; i < 500; i++) {
+                budgets.add(engine.add(new Budget(YearMonth.of(2000 + i, month), FOOD, 1000, 0)));
+            }
+        }
+        engine.apply(YearMonth.of(2123, 7), FOOD.ordinal(), 1000);
+        assertEquals(List.of("FOOD 80", "FOOD 100"), reached);
+        int consumed = 0;
+        for (Budget budget : budgets) {
+            consumed += budget.getConsumedCents() > 0 ? 1 : 0;
+        }
+        assertEquals(1, consumed);
+    }
+}
@@ -0,0 +1,28 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CategoryStatsTest {
+
+    @Test
+    void testMerge() {
+        CategoryStats a = new CategoryStats(2, 300, 100, 200);
+        CategoryStats b = new CategoryStats(1, 50, 50, 50);
+        CategoryStats merged = a.merge(b);
+        assertEquals(3, merged.getCount());
+        assertEquals(350, merged.getSumCents());
+        assertEquals(50, merged.getMinCents());
+        assertEquals(200, merged.getMaxCents());
+    }
+
+    @Test
+    void testMergeEmpty() {
+        CategoryStats a = new CategoryStats(2, 300, 100, 200);
+        assertSame(a, a.merge(CategoryStats.EMPTY));
+        assertSame(a, CategoryStats.EMPTY.merge(a));
+        assertEquals(0, CategoryStats.EMPTY.getMinCents());
+    }
+}
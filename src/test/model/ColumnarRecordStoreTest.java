@@ -0,0 +1,146 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarRecordStoreTest {
+    ColumnarRecordStore store;
+    Expense ep1;
+    Expense ep2;
+    Income inc1;
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnarRecordStore(1);
+
+        ep1 = new Expense(5.25);
+        ep1.classify(ExpenseCategory.FOOD);
+        ep1.resetDateTime(LocalDateTime.of(2023, 2, 1, 9, 30, 15, 123000000));
+        ep2 = new Expense(10);
+        ep2.classify(ExpenseCategory.TRAVEL);
+        ep2.resetDateTime(LocalDateTime.of(2023, 3, 10, 18, 0));
+        inc1 = new Income(100);
+        inc1.classify(IncomeCategory.SALARY);
+        inc1.resetDateTime(LocalDateTime.of(2023, 2, 28, 12, 0));
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(0, store.size());
+        assertEquals(0, store.sumCents(false));
+        assertEquals(0, store.sumCents(true));
+    }
+
+    @Test
+    void testAddGrowsAndKeepsFields() {
+        assertEquals(0, store.add(ep1));
+        assertEquals(1, store.add(ep2));
+        assertEquals(2, store.add(inc1));
+        assertEquals(3, store.size());
+
+        Record view = store.get(0);
+        assertEquals(5.25, view.getAmount());
+        assertEquals("FOOD", view.getCategoryName());
+        assertEquals(ep1.getDateTime(), view.getDateTime());
+        assertEquals("2023-02-01", view.getDate());
+        assertEquals(2023, view.getYear());
+        assertEquals(2, view.getMonth());
+        assertEquals(ep1.getTimeID(), view.getTimeID());
+        assertEquals(ep1.getRecordID(), view.getRecordID());
+        assertEquals(inc1.getRecordID(), store.get(2).getRecordID());
+        assertFalse(store.isIncome(0));
+
+        assertTrue(store.isIncome(2));
+        assertEquals("SALARY", store.get(2).getCategoryName());
+    }
+
+    @Test
+    void testSumCents() {
+        store.addAll(List.of(ep1, ep2, inc1));
+        assertEquals(1525, store.sumCents(false));
+        assertEquals(10000, store.sumCents(true));
+
+        LocalDate from = LocalDate.of(2023, 2, 1);
+        LocalDate to = LocalDate.of(2023, 3, 1);
+        assertEquals(525, store.sumCents(false, from, to));
+        assertEquals(10000, store.sumCents(true, from, to));
+    }
+
+    @Test
+    void testKeepsNanoseconds() {
+        ep1.resetDateTime(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123456789));
+        store.add(ep1);
+        assertEquals(ep1.getDateTime(), store.get(0).getDateTime());
+        assertEquals(ep1.getTimeID(), store.get(0).getTimeID());
+    }
+
+    @Test
+    void testEditThroughView() {
+        store.add(ep1);
+        store.add(inc1);
+        Record expense = store.get(0);
+        Record income = store.get(1);
+
+        expense.resetAmount(7.10);
+        expense.classify(ExpenseCategory.HEALTH);
+        expense.resetDate("2022-12-24");
+        income.classify(ExpenseCategory.HEALTH);
+
+        assertEquals(7.10, store.get(0).getAmount());
+        assertEquals("HEALTH", store.get(0).getCategoryName());
+        assertEquals("2022-12-24", store.get(0).getDate());
+        assertEquals(9, store.get(0).getDateTime().getHour());
+        assertEquals("SALARY", store.get(1).getCategoryName());
+        assertEquals(710, store.sumCents(false));
+    }
+
+    @Test
+    void testViewEqualityAndTempID() {
+        store.add(ep1);
+        store.add(ep2);
+        assertEquals(store.get(0), store.get(0));
+        assertNotEquals(store.get(0), store.get(1));
+        assertNotEquals(store.get(0), new ColumnarRecordStore().get(0));
+
+        Record view = store.get(1);
+        view.setTempID(3);
+        assertEquals(3, view.getTempID());
+    }
+
+    @Test
+    void testToJsonMatchesRecord() {
+        store.add(ep1);
+        store.add(inc1);
+        assertEquals(ep1.toJson().toString(), store.get(0).toJson().toString());
+        assertEquals(inc1.toJson().toString(), store.get(1).toJson().toString());
+    }
+
+    @Test
+    void testUnclassifiedRecord() {
+        store.add(new Expense(1));
+        assertEquals(-1, store.get(0).getCategoryOrdinal());
+        assertFalse(store.get(0).toJson().has("category"));
+    }
+
+    @Test
+    void testFromBalanceSheet() {
+        BalanceSheet bs = new BalanceSheet();
+        bs.addRecord(ep1);
+        bs.addRecord(inc1);
+        bs.addRecord(ep2);
+
+        ColumnarRecordStore copy = bs.toColumnarStore();
+        List<Record> rows = copy.asList();
+        assertEquals(3, rows.size());
+        assertEquals(5.25, rows.get(0).getAmount());
+        assertEquals(10, rows.get(1).getAmount());
+        assertEquals(100, rows.get(2).getAmount());
+        assertEquals(bs.calTotalExpenseCents(), copy.sumCents(false));
+    }
+}
@@ -0,0 +1,203 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentBalanceSheetTest {
+    private static final int THREADS = 8;
+    private static final int RECORDS_PER_THREAD = 5000;
+
+    ConcurrentBalanceSheet cbs;
+    Expense ep1;
+    Income inc1;
+
+    @BeforeEach
+    void setUp() {
+        cbs = new ConcurrentBalanceSheet(4);
+        ep1 = new Expense(5);
+        ep1.resetDate("2023-02-10");
+        inc1 = new Income(100);
+        inc1.resetDate("2023-03-10");
+    }
+
+    @Test
+    void testAddAndDelete() {
+        assertTrue(cbs.addRecord(ep1));
+        assertFalse(cbs.addRecord(ep1));
+        assertTrue(cbs.addRecord(inc1));
+        assertEquals(2, cbs.calNumOfRecords());
+        assertEquals(500, cbs.calTotalExpenseCents());
+        assertEquals(9500, cbs.calBalanceCents());
+        assertEquals(500, cbs.totalExpenseCentsByMonth("2023-02"));
+        assertEquals(10000, cbs.totalIncomeCentsByMonth("2023-03"));
+
+        cbs.deleteRecord(ep1);
+        cbs.deleteRecord(ep1);
+        assertEquals(1, cbs.calNumOfRecords());
+        assertEquals(0, cbs.calTotalExpenseCents());
+        assertTrue(cbs.isConsistent());
+    }
+
+    @Test
+    void testResetAmountCents() {
+        cbs.addRecord(ep1);
+        cbs.resetAmountCents(ep1, 1234);
+        assertEquals(1234, cbs.calTotalExpenseCents());
+        assertEquals(1234, cbs.totalExpenseCentsByMonth("2023-02"));
+
+        Expense outside = new Expense(1);
+        cbs.resetAmountCents(outside, 999);
+        assertEquals(999, outside.getAmountCents());
+        assertEquals(1234, cbs.calTotalExpenseCents());
+        assertTrue(cbs.isConsistent());
+    }
+
+    @Test
+    void testResetDateMovesStripe() {
+        cbs.addRecord(ep1);
+        cbs.resetDate(ep1, "2023-03-15");
+        assertEquals(0, cbs.totalExpenseCentsByMonth("2023-02"));
+        assertEquals(500, cbs.totalExpenseCentsByMonth("2023-03"));
+        assertEquals(1, cbs.listByMonth("expense", "2023-03").size());
+        cbs.resetDate(ep1, "2023-03-20");
+        assertEquals(20, ep1.getDay());
+        assertEquals(1, cbs.calNumOfRecords());
+        cbs.deleteRecord(ep1);
+        assertEquals(0, cbs.calNumOfRecords());
+        assertTrue(cbs.isConsistent());
+    }
+
+    @Test
+    void testAddRecords() {
+        cbs.addRecord(ep1);
+        Expense ep2 = new Expense(10);
+        ep2.resetDate("2023-07-01");
+        assertEquals(2, cbs.addRecords(List.of(ep1, ep2, inc1)));
+        assertEquals(3, cbs.calNumOfRecords());
+        assertEquals(1500, cbs.calTotalExpenseCents());
+        assertEquals(10000, cbs.calTotalIncomeCents());
+        assertEquals(1000, cbs.totalExpenseCentsByMonth("2023-07"));
+        assertTrue(cbs.isConsistent());
+    }
+
+    @Test
+    void testToBalanceSheet() {
+        cbs.addRecord(ep1);
+        cbs.addRecord(inc1);
+        BalanceSheet bs = cbs.toBalanceSheet();
+        assertEquals(2, bs.calNumOfRecords());
+        assertEquals(9500, bs.calBalanceCents());
+        Record copied = bs.fetchExpense(ep1.getRecordID());
+        assertNotSame(ep1, copied);
+        assertEquals(500, copied.getAmountCents());
+
+        cbs.resetAmountCents(ep1, 99999);
+        bs.resetDate(copied, "2023-05-01");
+        assertEquals(500, copied.getAmountCents());
+        assertTrue(bs.isConsistent());
+        assertEquals(1, cbs.listByMonth("expense", "2023-02").size());
+        cbs.deleteRecord(ep1);
+        assertEquals(1, cbs.calNumOfRecords());
+        assertEquals(1, bs.listByMonth("expense", "2023-05").size());
+    }
+
+    @Test
+    void testEditsWhileRedating() throws InterruptedException {
+        cbs.addRecord(ep1);
+        Thread redater = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                cbs.resetDate(ep1, i % 2 == 0 ? "2023-03-15" : "2023-02-15");
+            }
+        });
+        redater.start();
+        for (int i = 0; i < 2000; i++) {
+            cbs.resetAmountCents(ep1, i);
+        }
+        redater.join();
+        assertTrue(cbs.isConsistent());
+        assertEquals(1999, cbs.calTotalExpenseCents());
+        cbs.deleteRecord(ep1);
+        assertEquals(0, cbs.calNumOfRecords());
+        assertTrue(cbs.isConsistent());
+    }
+
+    @Test
+    void testConcurrentAdds() throws InterruptedException {
+        List<List<Record>> batches = new ArrayList<>();
+        long expectedExpense = 0;
+        long expectedIncome = 0;
+        Random random = new Random(42);
+        for (int t = 0; t < THREADS; t++) {
+            List<Record> batch = new ArrayList<>();
+            for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                Record record = random.nextBoolean() ? new Expense(random.nextInt(10000) / 100.0)
+                        : new Income(random.nextInt(10000) / 100.0);
+                record.resetDate(String.format("2023-%02d-01", 1 + random.nextInt(12)));
+                if (record.getClass() == Expense.class) {
+                    expectedExpense += record.getAmountCents();
+                } else {
+                    expectedIncome += record.getAmountCents();
+                }
+                batch.add(record);
+            }
+            batches.add(batch);
+        }
+        assertFalse(runWriters(batches));
+
+        assertEquals(THREADS * RECORDS_PER_THREAD, cbs.calNumOfRecords());
+        assertEquals(expectedExpense, cbs.calTotalExpenseCents());
+        assertEquals(expectedIncome, cbs.calTotalIncomeCents());
+        assertTrue(cbs.isConsistent());
+        assertTrue(cbs.toBalanceSheet().isConsistent());
+    }
+
+    // EFFECTS: adds every batch from its own thread while a reader checks that the number of records
+    //  never goes down; returns true if the reader saw it go down
+    private boolean runWriters(List<List<Record>> batches) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (List<Record> batch : batches) {
+            Thread writer = new Thread(() -> {
+                awaitQuietly(start);
+                batch.forEach(cbs::addRecord);
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicBoolean wentDown = new AtomicBoolean(false);
+        Thread reader = new Thread(() -> {
+            int last = 0;
+            while (!done.get()) {
+                int now = cbs.calNumOfRecords();
+                wentDown.compareAndSet(false, now < last);
+                last = now;
+            }
+        });
+        reader.start();
+        start.countDown();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        done.set(true);
+        reader.join();
+        return wentDown.get();
+    }
+
+    // EFFECTS: waits for the latch to open
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DailySumTreeTest {
+    DailySumTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new DailySumTree();
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, tree.sum(0, 100000));
+        assertEquals(0, tree.prefix(19000));
+    }
+
+    @Test
+    void testAddAndSum() {
+        tree.add(19000, 500);
+        tree.add(19001, 250);
+        tree.add(19010, 1000);
+        tree.add(19001, -50);
+
+        assertEquals(1700, tree.sum(18000, 20000));
+        assertEquals(700, tree.sum(19000, 19001));
+        assertEquals(200, tree.sum(19001, 19009));
+        assertEquals(0, tree.sum(19002, 19009));
+        assertEquals(0, tree.sum(19010, 19000));
+        assertEquals(700, tree.prefix(19005));
+    }
+
+    @Test
+    void testGrowsInBothDirections() {
+        tree.add(19000, 1);
+        tree.add(19000 + 5000, 10);
+        tree.add(19000 - 3000, 100);
+        tree.add(19000 + 63, 1000);
+
+        assertEquals(1111, tree.sum(0, 30000));
+        assertEquals(100, tree.sum(15000, 18999));
+        assertEquals(1001, tree.sum(19000, 19063));
+        assertEquals(10, tree.sum(24000, 24000));
+    }
+
+    @Test
+    void testFarApartDays() {
+        long first = LocalDate.MIN.toEpochDay();
+        long last = LocalDate.MAX.toEpochDay();
+        tree.add(first, 1);
+        tree.add(-1, 10);
+        tree.add(0, 100);
+        tree.add(last, 1000);
+
+        assertEquals(1111, tree.sum(first, last));
+        assertEquals(11, tree.prefix(-1));
+        assertEquals(110, tree.sum(-1, 0));
+        assertEquals(1100, tree.sum(0, last));
+        assertEquals(1000, tree.sum(last, last));
+        assertEquals(0, tree.sum(first + 1, -2));
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(7);
+        long[] days = new long[4000];
+        for (int i = 0; i < 2000; i++) {
+            int day = random.nextInt(days.length);
+            long cents = random.nextInt(20000) - 5000;
+            days[day] += cents;
+            tree.add(10000 + day, cents);
+        }
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(days.length);
+            int to = from + random.nextInt(days.length - from);
+            long expected = 0;
+            for (int day = from; day <= to; day++) {
+                expected += days[day];
+            }
+            assertEquals(expected, tree.sum(10000 + from, 10000 + to));
+        }
+    }
+}
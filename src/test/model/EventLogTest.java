@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 
@@ -49,4 +50,209 @@ public class EventLogTest {
 		assertEquals("Event log cleared.", itr.next().getDescription());
 		assertFalse(itr.hasNext());
 	}
+
+	@Test
+	public void testOverwritesOldest() {
+		EventLog el = EventLog.getInstance();
+		el.setCapacity(4);
+		try {
+			List<Event> logged = new ArrayList<Event>();
+			for (int i = 0; i < 10; i++) {
+				Event e = new Event("E" + i);
+				logged.add(e);
+				el.logEvent(e);
+			}
+			assertEquals(logged.subList(6, 10), toList(el));
+			assertEquals(logged.get(9).getSequence(), logged.get(6).getSequence() + 3);
+		} finally {
+			el.setCapacity(EventLog.DEFAULT_CAPACITY);
+		}
+	}
+
+	@Test
+	public void testSetCapacityKeepsMostRecent() {
+		EventLog el = EventLog.getInstance();
+		el.clear();
+		el.logEvent(e1);
+		el.logEvent(e2);
+		el.logEvent(e3);
+		el.setCapacity(3);
+		assertEquals(4, el.getCapacity());   // rounded up to a power of two
+		assertEquals(List.of(e1, e2, e3), toList(el).subList(1, 4));
+		el.setCapacity(2);
+		assertEquals(2, el.getCapacity());
+		assertEquals(List.of(e2, e3), toList(el));
+		el.setCapacity(EventLog.DEFAULT_CAPACITY);
+		assertEquals(List.of(e2, e3), toList(el));
+		assertEquals(EventLog.DEFAULT_CAPACITY, el.getCapacity());
+	}
+
+	@Test
+	public void testSequenceKeepsCountingAfterClear() {
+		EventLog el = EventLog.getInstance();
+		long before = e3.getSequence();
+		el.clear();
+		assertTrue(el.iterator().next().getSequence() > before);
+		assertEquals(-1, new Event("A4").getSequence());
+	}
+
+	@Test
+	public void testConcurrentLogging() throws InterruptedException {
+		EventLog el = EventLog.getInstance();
+		el.clear();
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 1000; i++) {
+					el.logEvent(new Event("C"));
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		List<Event> events = toList(el);
+		assertEquals(4001, events.size());
+		for (int i = 1; i < events.size(); i++) {
+			assertEquals(events.get(i - 1).getSequence() + 1, events.get(i).getSequence());
+		}
+	}
+
+	@Test
+	public void testLogTypedEvent() {
+		EventLog el = EventLog.getInstance();
+		el.clear();
+		el.logEvent(EventType.DATA_LOADED);
+		el.logEvent(EventType.MONTH_REVIEWED, 0, 202302);
+		el.logEvent(EventType.RECORDS_ADDED, 1, 0, 2, Event.NO_CATEGORY);
+		List<Event> events = toList(el);
+		assertEquals(EventType.LOG_CLEARED, events.get(0).getType());
+		assertEquals("Data loaded", events.get(1).getDescription());
+		assertEquals("Records of 2023-02 reviewed", events.get(2).getDescription());
+		assertEquals(EventType.RECORDS_ADDED, events.get(3).getType());
+		assertEquals(events.get(2).getSequence() + 1, events.get(3).getSequence());
+	}
+
+	@Test
+	public void testQueryByTime() throws InterruptedException {
+		EventLog el = EventLog.getInstance();
+		el.clear();
+		el.logEvent(EventType.DATA_LOADED);
+		Thread.sleep(5);
+		long from = System.currentTimeMillis();
+		el.logEvent(EventType.DATA_SAVED);
+		el.logEvent(EventType.MONTH_REVIEWED, 0, 202302);
+		Thread.sleep(5);
+		long to = System.currentTimeMillis();
+		el.logEvent(EventType.DATA_SAVED);
+		List<Event> events = new ArrayList<Event>();
+		long next = el.query(from, to, EnumSet.allOf(EventType.class), 0, 10, events);
+		assertEquals(2, events.size());
+		assertEquals(EventType.DATA_SAVED, events.get(0).getType());
+		assertEquals(EventType.MONTH_REVIEWED, events.get(1).getType());
+		assertEquals(events.get(1).getSequence() + 1, next);
+		events.clear();
+		el.query(to + 1000, Long.MAX_VALUE, EnumSet.allOf(EventType.class), 0, 10, events);
+		assertTrue(events.isEmpty());
+		el.query(0, Long.MAX_VALUE, EnumSet.of(EventType.DATA_SAVED), 0, 10, events);
+		assertEquals(2, events.size());
+	}
+
+	@Test
+	public void testQueryPaged() {
+		EventLog el = EventLog.getInstance();
+		el.clear();
+		for (int i = 0; i < 7; i++) {
+			el.logEvent(EventType.RECORDS_ADDED, i, 0, 0, Event.NO_CATEGORY);
+			el.logEvent(EventType.DATA_SAVED);
+		}
+		List<Event> page = new ArrayList<Event>();
+		List<Long> seen = new ArrayList<Long>();
+		long next = 0;
+		do {
+			page.clear();
+			next = el.query(0, Long.MAX_VALUE, EnumSet.of(EventType.RECORDS_ADDED), next, 3, page);
+			for (Event e : page) {
+				seen.add(e.getCount());
+			}
+		} while (page.size() == 3);
+		assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L), seen);
+	}
+
+	@Test
+	public void testQuerySkipsOverwritten() {
+		EventLog el = EventLog.getInstance();
+		el.setCapacity(4);
+		try {
+			for (int i = 0; i < 10; i++) {
+				el.logEvent(EventType.MONTH_REVIEWED, 0, 202301 + i);
+			}
+			List<Event> events = new ArrayList<Event>();
+			el.query(0, Long.MAX_VALUE, EnumSet.allOf(EventType.class), 0, 10, events);
+			assertEquals(4, events.size());
+			assertEquals(202307, events.get(0).getPeriod());
+		} finally {
+			el.setCapacity(EventLog.DEFAULT_CAPACITY);
+		}
+	}
+
+	@Test
+	public void testLevels() {
+		EventLog el = EventLog.getInstance();
+		el.clear();
+		try {
+			el.setLevel(EventLevel.INFO);
+			assertEquals(EventLevel.INFO, el.getLevel());
+			assertFalse(el.isLoggable(EventType.MONTH_REVIEWED));
+			assertTrue(el.isLoggable(EventType.DATA_SAVED));
+			el.logEvent(EventType.MONTH_REVIEWED, 0, 202302);
+			el.logEvent(EventType.DATA_SAVED);
+			el.setLevel(EventType.DATA_LOADED, EventLevel.DEBUG);
+			assertEquals(EventLevel.DEBUG, el.getLevel(EventType.DATA_LOADED));
+			el.logEvent(EventType.DATA_LOADED);
+			el.logEvent(new Event("Message"));
+			List<Event> events = toList(el);
+			assertEquals(3, events.size());
+			assertEquals(EventType.DATA_SAVED, events.get(1).getType());
+			assertEquals("Message", events.get(2).getDescription());
+		} finally {
+			el.setLevel(EventLevel.DEBUG);
+			el.setLevel(EventType.DATA_LOADED, EventType.DATA_LOADED.getLevel());
+		}
+	}
+
+	@Test
+	public void testSampling() {
+		EventLog el = EventLog.getInstance();
+		el.clear();
+		try {
+			el.setSampling(EventType.MONTH_REVIEWED, 4);
+			for (int i = 0; i < 4000; i++) {
+				el.logEvent(EventType.MONTH_REVIEWED, 0, 202302);
+				el.logEvent(EventType.DATA_SAVED);
+			}
+			int reviewed = 0;
+			int saved = 0;
+			for (Event e : el) {
+				if (e.getType() == EventType.MONTH_REVIEWED) {
+					reviewed++;
+				} else if (e.getType() == EventType.DATA_SAVED) {
+					saved++;
+				}
+			}
+			assertEquals(4000, saved);
+			assertTrue(reviewed > 750 && reviewed < 1250);
+		} finally {
+			el.setSampling(EventType.MONTH_REVIEWED, 1);
+		}
+	}
+
+	private static List<Event> toList(EventLog el) {
+		List<Event> l = new ArrayList<Event>();
+		for (Event next : el) {
+			l.add(next);
+		}
+		return l;
+	}
 }
@@ -3,10 +3,14 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Calendar;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 
 public class EventTest {
@@ -16,9 +20,12 @@ public class EventTest {
 	//NOTE: these tests might fail if time at which line (2) below is executed
 	//is different from time that line (1) is executed.  Lines (1) and (2) must
 	//run in same millisecond for this test to make sense and pass.
+	//Event no longer goes through Calendar, so Calendar is loaded before (1)
+	//to keep its first, slow initialization out of the way.
 	
 	@BeforeEach
 	public void runBefore() {
+		Calendar.getInstance();
 		e = new Event("Add expense to Balance Sheet");   // (1)
 		d = Calendar.getInstance().getTime();   // (2)
 	}
@@ -33,4 +40,46 @@ public class EventTest {
 	public void testToString() {
 		assertEquals(d.toString() + "\n" + "Add expense to Balance Sheet", e.toString());
 	}
+
+	@Test
+	public void testTypedEvent() {
+		Event typed = new Event(EventType.RECORDS_ADDED, 3, 0, 2, Event.NO_CATEGORY);
+		assertEquals(EventType.RECORDS_ADDED, typed.getType());
+		assertEquals(3, typed.getCount());
+		assertEquals(2, typed.getValue());
+		assertEquals(Event.NO_CATEGORY, typed.getCategory());
+		assertEquals(typed.getDate().getTime(), typed.getTimeMillis());
+		assertEquals("3 expenses and 2 incomes added to Balance Sheet", typed.getDescription());
+		assertSame(typed.getDescription(), typed.getDescription());
+		assertEquals(typed.getDate().toString() + "\n" + typed.getDescription(), typed.toString());
+		assertEquals(EventType.MESSAGE, e.getType());
+	}
+
+	@Test
+	public void testTypedDescriptions() {
+		long month = EventType.monthCode(YearMonth.of(2023, 2));
+		long day = LocalDate.of(2023, 2, 14).toEpochDay();
+		assertEquals(202302, month);
+		assertEquals("5 records of 2023-02 deleted",
+				new Event(EventType.MONTH_DELETED, 5, month, 0, Event.NO_CATEGORY).getDescription());
+		assertEquals("4 records moved to 2023-02-14",
+				new Event(EventType.RECORDS_MOVED, 4, day, 0, Event.NO_CATEGORY).getDescription());
+		assertEquals("Records from 2023-02-14 to 2023-02-15 reviewed",
+				new Event(EventType.RANGE_REVIEWED, 0, day, day + 1, Event.NO_CATEGORY).getDescription());
+		assertEquals("Budget of all expenses for 2023-02 reached 80%",
+				new Event(EventType.BUDGET_REACHED, 0, month, 80, Event.NO_CATEGORY).getDescription());
+		assertEquals("Budget of " + ExpenseCategory.values()[0] + " for 2023-02 reached 100%",
+				new Event(EventType.BUDGET_REACHED, 0, month, 100, 0).getDescription());
+	}
+
+	@Test
+	public void testEqualsByTimeAndDescription() {
+		Event typed = new Event(EventType.DATA_SAVED, 0, 0, 0, Event.NO_CATEGORY);
+		Event same = new Event("Data saved");
+		if (typed.getTimeMillis() == same.getTimeMillis()) {
+			assertEquals(typed, same);
+			assertEquals(typed.hashCode(), same.hashCode());
+		}
+		assertNotEquals(typed, new Event(EventType.DATA_LOADED, 0, 0, 0, Event.NO_CATEGORY));
+	}
 }
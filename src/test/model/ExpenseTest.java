@@ -13,6 +13,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class ExpenseTest {
@@ -35,7 +37,26 @@ public class ExpenseTest {
         assertEquals(testDateTime.getMonthValue(), ep.getMonth());
         assertEquals(testDateTime.getDayOfMonth(), ep.getDay());
         assertEquals(formatter.format(testDateTime), ep.getDate());
-        assertEquals(Long.parseLong(formatterWithTime.format(testDateTime)), ep.getTimeID());
+        assertTrue(ep.getTimeID() >= Long.parseLong(formatterWithTime.format(testDateTime)));
+    }
+
+    @Test
+    void testTimeIDsStrictlyIncrease() {
+        long previous = ep.getTimeID();
+        for (int i = 0; i < 1000; i++) {
+            long next = new Expense(0).getTimeID();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testRecordIDIsUnique() {
+        Expense other = new Expense(0.00);
+        Income income = new Income(0.00);
+        assertTrue(ep.getRecordID() > 0);
+        assertNotEquals(ep.getRecordID(), other.getRecordID());
+        assertNotEquals(other.getRecordID(), income.getRecordID());
     }
 
     @Test
@@ -55,6 +76,20 @@ public class ExpenseTest {
         assertEquals(100.10, ep.getAmount());
     }
 
+    @Test
+    void testResetAmountCents() {
+        ep.resetAmountCents(1999);
+        assertEquals(1999, ep.getAmountCents());
+        assertEquals(19.99, ep.getAmount());
+    }
+
+    @Test
+    void testAmountRoundedToCents() {
+        Expense rounded = new Expense(3.14159);
+        assertEquals(314, rounded.getAmountCents());
+        assertEquals(3.14, rounded.getAmount());
+    }
+
     @Test
     void testResetDate() {
         ep.resetDate("2022-02-07");
@@ -93,4 +128,70 @@ public class ExpenseTest {
         assertEquals(epStr, epjson.toString());
 
     }
+
+    @Test
+    void testToJsonWithCents() {
+        ep.resetAmount(10.50);
+        ep.classify(ExpenseCategory.FOOD);
+        assertEquals(1050, Money.toCents(ep.toJson().getBigDecimal("amount")));
+    }
+
+    @Test
+    void testCopy() {
+        ep.resetAmountCents(1234);
+        ep.classify(ExpenseCategory.FOOD);
+        Expense copy = ep.copy();
+        ep.resetAmountCents(1);
+        ep.classify(ExpenseCategory.HEALTH);
+
+        assertEquals(ep.getRecordID(), copy.getRecordID());
+        assertEquals(1234, copy.getAmountCents());
+        assertEquals("FOOD", copy.getCategoryName());
+        assertEquals(ep.getDateTime(), copy.getDateTime());
+    }
+
+    @Test
+    void testDateTimeKeptExactly() {
+        LocalDateTime dateTime = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123456789);
+        ep.resetDateTime(dateTime);
+        assertEquals(dateTime, ep.getDateTime());
+        assertEquals(1969, ep.getYear());
+        assertEquals(12, ep.getMonth());
+        assertEquals(31, ep.getDay());
+        assertEquals("1969-12-31", ep.getDate());
+    }
+
+    @Test
+    void testUnclassified() {
+        assertEquals(-1, ep.getCategoryOrdinal());
+        assertTrue(ep.toJson().isNull("category"));
+        ep.classify(ExpenseCategory.TRAVEL);
+        assertEquals(ExpenseCategory.TRAVEL.ordinal(), ep.getCategoryOrdinal());
+    }
+
+    @Test
+    void testResetDateTimeSyncsTimeID() {
+        ep.resetDateTime(LocalDateTime.of(2023, 2, 1, 9, 30, 15, 123000000));
+        assertEquals(20230201093015123L, ep.getTimeID());
+        ep.resetDate("2024-02-29");
+        assertEquals(20240229093015123L, ep.getTimeID());
+        assertEquals(LocalDateTime.of(2024, 2, 29, 9, 30, 15, 123000000), ep.getDateTime());
+    }
+
+    @Test
+    void testDatesFarFromNow() {
+        ep.resetDateTime(LocalDateTime.of(2023, 2, 1, 9, 30, 15, 123000000));
+        ep.resetDate("2300-05-17");
+        assertEquals("2300-05-17", ep.getDate());
+        assertEquals(LocalDateTime.of(2300, 5, 17, 9, 30, 15, 123000000), ep.getDateTime());
+        assertEquals(23000517093015123L, ep.getTimeID());
+        ep.resetDate("1500-03-02");
+        assertEquals("1500-03-02", ep.getDate());
+        assertEquals(1500, ep.getYear());
+        LocalDateTime far = LocalDateTime.of(2999, 12, 31, 23, 59, 59, 999999999);
+        ep.resetDateTime(far);
+        assertEquals(far, ep.getDateTime());
+        ep.resetDateTime(LocalDateTime.of(1000, 1, 1, 0, 0));
+        assertEquals("1000-01-01", ep.getDate());
+    }
 }
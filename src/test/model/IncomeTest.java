@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static model.IncomeCategory.GENERAL;
+import static model.IncomeCategory.LEASE;
 import static model.IncomeCategory.SALARY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -30,4 +31,22 @@ public class IncomeTest extends ExpenseTest{
         String incStr = "{\"dateTime\":\"" + inc.getDateTime().toString() + "\",\"amount\":500,\"category\":\"SALARY\"}";
         assertEquals(incStr, incjson.toString());
     }
+
+    @Test
+    void testCopy() {
+        inc.classify(SALARY);
+        Income copy = inc.copy();
+        inc.classify(GENERAL);
+
+        assertEquals(inc.getRecordID(), copy.getRecordID());
+        assertEquals("SALARY", copy.getCategoryName());
+    }
+
+    @Test
+    void testExpenseCategoryIgnored() {
+        inc.classify(LEASE);
+        inc.classify(ExpenseCategory.TRAVEL);
+        assertEquals("LEASE", inc.getCategoryName());
+        assertEquals(LEASE.ordinal(), inc.getCategoryOrdinal());
+    }
 }
@@ -0,0 +1,40 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MoneyTest {
+
+    @Test
+    void testToCentsFromDouble() {
+        assertEquals(0, Money.toCents(0.00));
+        assertEquals(1010, Money.toCents(10.10));
+        assertEquals(-599, Money.toCents(-5.99));
+        assertEquals(1, Money.toCents(0.005));
+    }
+
+    @Test
+    void testToCentsFromDecimal() {
+        assertEquals(525, Money.toCents(new BigDecimal("5.25")));
+        assertEquals(50000, Money.toCents(new BigDecimal("500")));
+        assertEquals(101, Money.toCents(new BigDecimal("1.005")));
+    }
+
+    @Test
+    void testToDollarsAndDecimal() {
+        assertEquals(100.10, Money.toDollars(10010));
+        assertEquals(new BigDecimal("0.07"), Money.toDecimal(7));
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("12.30", Money.format(1230));
+        assertEquals("-12.05", Money.format(-1205));
+        assertEquals("92233720368547758.07", Money.format(Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelAggregatorTest {
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, new ParallelAggregator().sumByPartition(new ArrayList<List<Record>>()).length);
+    }
+
+    @Test
+    void testSmallStaysSequential() {
+        List<List<Record>> partitions = List.of(List.of(new Expense(1), new Expense(2.5)), List.of(),
+                List.of(new Income(0.01)));
+        assertArrayEquals(new long[]{350, 0, 1}, new ParallelAggregator().sumByPartition(partitions));
+    }
+
+    @Test
+    void testMatchesSequentialForAnySplit() {
+        Random random = new Random(3);
+        List<List<Record>> partitions = new ArrayList<>();
+        long[] expected = new long[40];
+        for (int p = 0; p < expected.length; p++) {
+            List<Record> records = new ArrayList<>();
+            int size = p == 7 ? 5000 : random.nextInt(300);
+            for (int i = 0; i < size; i++) {
+                Record record = new Expense(random.nextInt(1000000) / 100.0);
+                expected[p] += record.getAmountCents();
+                records.add(record);
+            }
+            partitions.add(records);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int threshold : new int[]{1, 7, 64, 1000, 100000}) {
+            assertArrayEquals(expected, new ParallelAggregator(pool, threshold).sumByPartition(partitions));
+        }
+        pool.shutdown();
+    }
+}
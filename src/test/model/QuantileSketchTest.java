@@ -0,0 +1,83 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QuantileSketchTest {
+
+    @Test
+    void testExactBelowK() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (long i = 100; i >= 1; i--) {
+            sketch.update(i);
+        }
+        assertEquals(100, sketch.getCount());
+        assertEquals(100, sketch.getRetained());
+        assertEquals(1, sketch.getMin());
+        assertEquals(100, sketch.getMax());
+        assertEquals(1, sketch.quantile(0));
+        assertEquals(50, sketch.quantile(0.5));
+        assertEquals(90, sketch.quantile(0.9));
+        assertEquals(100, sketch.quantile(1));
+    }
+
+    @Test
+    void testRankErrorAndSize() {
+        QuantileSketch sketch = new QuantileSketch();
+        long[] values = new long[100000];
+        Random random = new Random(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(1000000);
+            sketch.update(values[i]);
+        }
+        Arrays.sort(values);
+        for (double q : new double[] {0.01, 0.25, 0.5, 0.9, 0.99}) {
+            assertTrue(rankError(values, sketch.quantile(q), q) < 0.02);
+        }
+        assertEquals(values.length, sketch.getCount());
+        assertTrue(sketch.getRetained() <= 3 * QuantileSketch.DEFAULT_K);
+    }
+
+    @Test
+    void testMerge() {
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        long[] values = new long[20000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+            if (i < values.length / 2) {
+                low.update(i);
+            } else {
+                high.update(i);
+            }
+        }
+        low.merge(high);
+        assertEquals(values.length, low.getCount());
+        assertEquals(0, low.getMin());
+        assertEquals(values.length - 1, low.getMax());
+        assertTrue(rankError(values, low.quantile(0.5), 0.5) < 0.02);
+        assertTrue(rankError(values, low.quantile(0.9), 0.9) < 0.02);
+    }
+
+    @Test
+    void testMergeEmpty() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.update(7);
+        sketch.merge(new QuantileSketch());
+        assertEquals(1, sketch.getCount());
+        assertEquals(7, sketch.quantile(0.5));
+    }
+
+    // EFFECTS: returns how far, as a fraction of all values, the rank of the estimate is from the rank q
+    private static double rankError(long[] sorted, long estimate, double q) {
+        int rank = Arrays.binarySearch(sorted, estimate);
+        while (rank > 0 && sorted[rank - 1] == estimate) {
+            rank--;
+        }
+        return Math.abs(rank / (double) sorted.length - q);
+    }
+}
@@ -0,0 +1,89 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordIdMapTest {
+    RecordIdMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new RecordIdMap();
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+        assertNull(map.get(0));
+        assertNull(map.remove(0));
+    }
+
+    @Test
+    void testPutAndGet() {
+        Expense ep = new Expense(1);
+        Income inc = new Income(2);
+        map.put(3, ep);
+        map.put(7, inc);
+        assertEquals(2, map.size());
+        assertSame(ep, map.get(3));
+        assertSame(inc, map.get(7));
+        assertNull(map.get(4));
+    }
+
+    @Test
+    void testPutReplaces() {
+        Expense ep1 = new Expense(1);
+        Expense ep2 = new Expense(2);
+        map.put(5, ep1);
+        map.put(5, ep2);
+        assertEquals(1, map.size());
+        assertSame(ep2, map.get(5));
+    }
+
+    @Test
+    void testRemove() {
+        Expense ep = new Expense(1);
+        map.put(9, ep);
+        assertSame(ep, map.remove(9));
+        assertNull(map.remove(9));
+        assertNull(map.get(9));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testManyEntriesWithGrowthAndRemovals() {
+        List<Record> records = new ArrayList<>();
+        for (int id = 1; id <= 5000; id++) {
+            Expense ep = new Expense(id);
+            records.add(ep);
+            map.put(id * 16, ep);
+        }
+        for (int id = 1; id <= 5000; id += 2) {
+            assertSame(records.get(id - 1), map.remove(id * 16));
+        }
+        assertEquals(2500, map.size());
+        for (int id = 1; id <= 5000; id++) {
+            if (id % 2 == 0) {
+                assertSame(records.get(id - 1), map.get(id * 16));
+            } else {
+                assertNull(map.get(id * 16));
+            }
+        }
+    }
+
+    @Test
+    void testEnsureCapacityKeepsEntries() {
+        Expense ep = new Expense(1);
+        map.put(7, ep);
+        map.ensureCapacity(10000);
+        map.ensureCapacity(1);
+        assertSame(ep, map.get(7));
+        assertEquals(1, map.size());
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordPositionMapTest {
+    RecordPositionMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new RecordPositionMap();
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(0, map.size());
+        assertEquals(-1, map.get(1));
+        assertEquals(-1, map.get(0));
+        map.remove(0);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testPutReplacesAndRemove() {
+        map.put(3, 0);
+        map.put(7, 1);
+        map.put(3, 5);
+        assertEquals(2, map.size());
+        assertEquals(5, map.get(3));
+        map.remove(3);
+        map.remove(3);
+        assertEquals(-1, map.get(3));
+        assertEquals(1, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testManyCollidingKeys() {
+        for (int id = 1; id <= 5000; id++) {
+            map.put(id * 16, id);
+        }
+        for (int id = 1; id <= 5000; id += 2) {
+            map.remove(id * 16);
+        }
+        assertEquals(2500, map.size());
+        for (int id = 1; id <= 5000; id++) {
+            assertEquals(id % 2 == 0 ? id : -1, map.get(id * 16));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SegmentedRecordListTest {
+    private static final int MANY = 3000;
+
+    SegmentedRecordList list;
+    List<Record> records;
+
+    @BeforeEach
+    void setUp() {
+        list = new SegmentedRecordList();
+        records = new ArrayList<>();
+        for (int i = 0; i < MANY; i++) {
+            records.add(new Expense(i));
+        }
+    }
+
+    @Test
+    void testAddGetRemove() {
+        list.addAll(records);
+        assertEquals(MANY, list.size());
+        assertSame(records.get(2500), list.get(2500));
+
+        assertTrue(list.remove(records.get(10)));
+        assertEquals(MANY - 1, list.size());
+        assertSame(records.get(11), list.get(10));
+        assertSame(records.get(MANY - 1), list.get(MANY - 2));
+        assertFalse(list.contains(records.get(10)));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(MANY - 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test
+    void testSnapshotDoesNotSeeLaterChanges() {
+        list.addAll(records.subList(0, 2000));
+        List<Record> snapshot = list.snapshot();
+        assertTrue(list.hasSnapshots());
+
+        list.add(records.get(2000));
+        list.remove(0);
+        list.set(1500, records.get(2001));
+
+        assertEquals(2000, snapshot.size());
+        assertSame(records.get(0), snapshot.get(0));
+        assertSame(records.get(1500), snapshot.get(1500));
+        assertEquals(records.subList(0, 2000), snapshot);
+        assertSame(records.get(1), list.get(0));
+        assertSame(records.get(2001), list.get(1500));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(records.get(0)));
+    }
+
+    @Test
+    void testFreeze() {
+        list.addAll(records.subList(0, 10));
+        list.freeze(records.get(3), records.get(100));
+        List<Record> snapshot = list.snapshot();
+
+        list.freeze(records.get(3), records.get(200));
+        assertSame(records.get(200), snapshot.get(3));
+        assertSame(records.get(3), list.get(3));
+        assertTrue(list.hasSnapshots());
+        assertFalse(list.isShared(records.get(3)));
+
+        list.freeze(records.get(3), records.get(300));
+        assertSame(records.get(200), snapshot.get(3));
+    }
+
+    @Test
+    void testSnapshotsTakenAtDifferentTimes() {
+        list.add(records.get(0));
+        List<Record> first = list.snapshot();
+        list.add(records.get(1));
+        List<Record> second = list.snapshot();
+        list.remove(0);
+
+        assertEquals(1, first.size());
+        assertEquals(2, second.size());
+        assertEquals(1, list.size());
+        assertSame(records.get(1), list.get(0));
+    }
+
+    @Test
+    void testFreezeReachesEverySnapshotHoldingTheRecord() {
+        list.add(records.get(0));
+        List<Record> first = list.snapshot();
+        list.add(records.get(1));
+        List<Record> second = list.snapshot();
+        list.add(records.get(2));
+
+        assertTrue(list.isShared(records.get(0)));
+        list.freeze(records.get(0), records.get(100));
+        list.freeze(records.get(1), records.get(101));
+        assertFalse(list.isShared(records.get(2)));
+        list.freeze(records.get(2), records.get(102));
+
+        assertEquals(List.of(records.get(100)), first);
+        assertEquals(List.of(records.get(100), records.get(101)), second);
+        assertEquals(records.subList(0, 3), list);
+        assertFalse(list.isShared(records.get(0)));
+    }
+
+    @Test
+    void testRemoveLeavesTombstoneUntilAccessed() {
+        list.addAll(records.subList(0, 10));
+        assertTrue(list.remove(records.get(4)));
+        assertFalse(list.remove(records.get(4)));
+        assertFalse(list.remove("not a record"));
+        assertEquals(9, list.size());
+        assertFalse(list.contains(records.get(4)));
+        assertTrue(list.contains(records.get(5)));
+        assertEquals(4, list.indexOf(records.get(5)));
+        assertSame(records.get(5), list.get(4));
+        assertEquals(-1, list.indexOf(records.get(4)));
+    }
+
+    @Test
+    void testIndexesSkipTombstones() {
+        list.addAll(records);
+        List<Record> expected = new ArrayList<>(records);
+        Random random = new Random(3);
+        for (int i = 0; i < MANY / 3; i++) {
+            int index = random.nextInt(expected.size());
+            assertSame(expected.remove(index), list.remove(index));
+            int other = random.nextInt(expected.size());
+            assertSame(expected.get(other), list.get(other));
+            assertEquals(other, list.indexOf(expected.get(other)));
+        }
+        Record replacement = new Expense(1);
+        assertSame(expected.set(1500, replacement), list.set(1500, replacement));
+        assertEquals(expected, list);
+        assertEquals(1500, list.indexOf(replacement));
+    }
+
+    @Test
+    void testManyRemovesCompact() {
+        list.addAll(records);
+        for (int i = 0; i < MANY; i += 2) {
+            assertTrue(list.remove(records.get(i)));
+        }
+        assertEquals(MANY / 2, list.size());
+        int i = 1;
+        for (Record record : list) {
+            assertSame(records.get(i), record);
+            i += 2;
+        }
+        list.add(records.get(0));
+        assertSame(records.get(0), list.get(MANY / 2));
+    }
+
+    @Test
+    void testIteratorRemove() {
+        list.addAll(records.subList(0, 6));
+        list.removeIf(r -> r.getAmountCents() % 200 == 0);
+        assertEquals(List.of(records.get(1), records.get(3), records.get(5)), list);
+    }
+
+    @Test
+    void testSnapshotAfterRemoves() {
+        list.addAll(records.subList(0, 5));
+        list.remove(records.get(1));
+        List<Record> snapshot = list.snapshot();
+        list.remove(records.get(2));
+        assertEquals(List.of(records.get(0), records.get(2), records.get(3), records.get(4)), snapshot);
+        assertEquals(List.of(records.get(0), records.get(3), records.get(4)), list);
+    }
+}
@@ -0,0 +1,76 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeIDGeneratorTest {
+    private static final ZoneId VANCOUVER = ZoneId.of("America/Vancouver");
+
+    TimeIDGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new TimeIDGenerator(VANCOUVER);
+    }
+
+    @Test
+    void testTimeIDOfLocalTime() {
+        long millis = LocalDateTime.of(2023, 2, 1, 9, 30, 15, 123000000).atZone(VANCOUVER)
+                .toInstant().toEpochMilli();
+        assertEquals(20230201093015123L, generator.timeIDOf(millis));
+        assertEquals(20230201093015123L, generator.next(millis));
+        assertEquals(LocalDateTime.of(2023, 2, 1, 9, 30, 15, 123000000).toEpochSecond(ZoneOffset.UTC) * 1000 + 123,
+                generator.localMillisOf(millis));
+    }
+
+    @Test
+    void testAcrossDaylightSavingTime() {
+        long beforeJump = LocalDateTime.of(2023, 3, 12, 1, 59, 59, 999000000).atZone(VANCOUVER)
+                .toInstant().toEpochMilli();
+        assertEquals(20230312015959999L, generator.timeIDOf(beforeJump));
+        assertEquals(20230312030000000L, generator.timeIDOf(beforeJump + 1));
+    }
+
+    @Test
+    void testSameMillisecondStillIncreases() {
+        long first = generator.next(1000000);
+        long second = generator.next(1000000);
+        long third = generator.next(999000);
+        assertEquals(first + 1, second);
+        assertEquals(second + 1, third);
+        assertTrue(generator.next(5000000) > third);
+    }
+
+    @Test
+    void testUniqueAcrossThreads() throws InterruptedException {
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                Set<Long> mine = new HashSet<>();
+                long previous = 0;
+                for (int i = 0; i < 20000; i++) {
+                    long id = generator.next();
+                    assertTrue(id > previous);
+                    previous = id;
+                    mine.add(id);
+                }
+                seen.addAll(mine);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000, seen.size());
+    }
+}
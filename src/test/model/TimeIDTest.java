@@ -0,0 +1,38 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeIDTest {
+
+    @Test
+    void testOf() {
+        assertEquals(20230207093005042L, TimeID.of(LocalDateTime.of(2023, 2, 7, 9, 30, 5, 42999999)));
+        assertEquals(20001231235959999L, TimeID.of(LocalDateTime.of(2000, 12, 31, 23, 59, 59, 999000000)));
+    }
+
+    @Test
+    void testOfMatchesFormatter() {
+        DateTimeFormatter formatterWithTime = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(Long.parseLong(now.format(formatterWithTime)), TimeID.of(now));
+    }
+
+    @Test
+    void testStartOf() {
+        assertEquals(20230207000000000L, TimeID.startOf(LocalDate.of(2023, 2, 7)));
+        assertTrue(TimeID.startOf(LocalDate.of(2023, 2, 8)) > TimeID.of(LocalDateTime.of(2023, 2, 7, 23, 59)));
+    }
+
+    @Test
+    void testWithDate() {
+        assertEquals(20220101093005042L, TimeID.withDate(20230207093005042L, LocalDate.of(2022, 1, 1)));
+        assertEquals(19991231235959999L, TimeID.withDate(20001231235959999L, LocalDate.of(1999, 12, 31)));
+    }
+}
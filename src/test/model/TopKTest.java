@@ -0,0 +1,62 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKTest {
+    Expense ep1;
+    Expense ep2;
+    Expense ep3;
+    Expense ep4;
+
+    @BeforeEach
+    void setUp() {
+        ep1 = new Expense(5);
+        ep2 = new Expense(10);
+        ep3 = new Expense(100);
+        ep4 = new Expense(10);
+    }
+
+    @Test
+    void testKeepsLargest() {
+        TopK top = new TopK(2);
+        top.offerAll(List.of(ep1, ep2, ep3));
+        assertEquals(List.of(ep3, ep2), top.toList());
+    }
+
+    @Test
+    void testFewerThanK() {
+        TopK top = new TopK(5);
+        top.offer(ep1);
+        top.offer(ep3);
+        assertEquals(List.of(ep3, ep1), top.toList());
+    }
+
+    @Test
+    void testUnboundedK() {
+        TopK top = new TopK(Integer.MAX_VALUE);
+        top.offerAll(List.of(ep1, ep2, ep3));
+        assertEquals(3, top.toList().size());
+    }
+
+    @Test
+    void testZero() {
+        TopK top = new TopK(0);
+        top.offerAll(List.of(ep1, ep2, ep3));
+        assertTrue(top.toList().isEmpty());
+    }
+
+    @Test
+    void testTiesRankOldestFirst() {
+        TopK forward = new TopK(1);
+        forward.offerAll(List.of(ep2, ep4));
+        TopK backward = new TopK(1);
+        backward.offerAll(List.of(ep4, ep2));
+        assertEquals(List.of(ep2), forward.toList());
+        assertEquals(List.of(ep2), backward.toList());
+    }
+}
@@ -0,0 +1,24 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class WindowStatsTest {
+
+    @Test
+    void testAverages() {
+        WindowStats stats = new WindowStats(7, 2, 1400);
+        assertEquals(7, stats.getDays());
+        assertEquals(2, stats.getCount());
+        assertEquals(1400, stats.getSumCents());
+        assertEquals(2.0, stats.getDailyAverage());
+        assertEquals(7.0, stats.getAverage());
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, new WindowStats(0, 0, 0).getDailyAverage());
+        assertEquals(0, new WindowStats(30, 0, 0).getAverage());
+    }
+}
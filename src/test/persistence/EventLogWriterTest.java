@@ -0,0 +1,131 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogWriterTest {
+    private static final Path FILE = Paths.get("./data/testEvents.log");
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        EventLog.getInstance().setCapacity(EventLog.DEFAULT_CAPACITY);
+        Files.deleteIfExists(FILE);
+        for (int i = 1; i < 4; i++) {
+            Files.deleteIfExists(Paths.get(FILE + "." + i));
+        }
+    }
+
+    @Test
+    void testWritesOnClose() throws IOException {
+        Files.deleteIfExists(FILE);
+        EventLogWriter writer = new EventLogWriter(FILE, 1 << 20, 3, 60000);
+        writer.start();
+        EventLog.getInstance().logEvent(new Event("First"));
+        EventLog.getInstance().logEvent(new Event("Two\nlines"));
+        assertEquals(2, writer.getLag());
+        writer.close();
+
+        List<String> lines = Files.readAllLines(FILE);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).endsWith("\tFirst"));
+        assertTrue(lines.get(1).endsWith("\tTwo\\nlines"));
+        assertEquals(2, writer.getWritten());
+        assertEquals(0, writer.getDropped());
+        assertEquals(0, writer.getFailures());
+        writer.close();
+    }
+
+    @Test
+    void testDrainsInBackground() throws IOException, InterruptedException {
+        Files.deleteIfExists(FILE);
+        EventLogWriter writer = new EventLogWriter(FILE, 1 << 20, 3, 10);
+        writer.start();
+        EventLog.getInstance().logEvent(new Event("Background"));
+        for (int i = 0; i < 500 && writer.getWritten() < 1; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, writer.getWritten());
+        assertEquals(0, writer.getLag());
+        writer.close();
+    }
+
+    @Test
+    void testCountsDropsWhenOverrun() throws IOException {
+        Files.deleteIfExists(FILE);
+        EventLog.getInstance().setCapacity(8);
+        EventLogWriter writer = new EventLogWriter(FILE, 1 << 20, 3, 60000);
+        writer.start();
+        for (int i = 0; i < 20; i++) {
+            EventLog.getInstance().logEvent(new Event("E" + i));
+        }
+        writer.close();
+        assertEquals(8, writer.getWritten());
+        assertEquals(12, writer.getDropped());
+        List<String> lines = Files.readAllLines(FILE);
+        assertTrue(lines.get(0).endsWith("\tE12"));
+    }
+
+    @Test
+    void testRotates() throws IOException {
+        Files.deleteIfExists(FILE);
+        EventLogWriter writer = new EventLogWriter(FILE, 100, 3, 60000);
+        writer.start();
+        for (int i = 0; i < 20; i++) {
+            EventLog.getInstance().logEvent(new Event("Event number " + i));
+        }
+        writer.close();
+        assertEquals(20, writer.getWritten());
+        assertTrue(Files.size(FILE) <= 100);
+        assertTrue(Files.exists(Paths.get(FILE + ".1")));
+        assertTrue(Files.exists(Paths.get(FILE + ".2")));
+        assertFalse(Files.exists(Paths.get(FILE + ".3")));
+        List<String> lines = Files.readAllLines(FILE);
+        assertTrue(lines.get(lines.size() - 1).endsWith("\tEvent number 19"));
+    }
+
+    @Test
+    void testKeepsWritingWhenRotationFails() throws IOException {
+        Files.deleteIfExists(FILE);
+        Path blocker = Paths.get(FILE + ".1");
+        Files.createDirectories(blocker);
+        Files.write(blocker.resolve("keep"), new byte[] {1});
+        EventLogWriter writer = new EventLogWriter(FILE, 100, 2, 60000);
+        writer.start();
+        try {
+            for (int i = 0; i < 20; i++) {
+                EventLog.getInstance().logEvent(new Event("Event number " + i));
+            }
+            writer.drain();
+            assertEquals(20, writer.getWritten());
+            assertEquals(0, writer.getDropped());
+            assertEquals(1, writer.getFailures());
+            assertEquals(20, Files.readAllLines(FILE).size());
+        } finally {
+            Files.delete(blocker.resolve("keep"));
+            Files.delete(blocker);
+        }
+        EventLog.getInstance().logEvent(new Event("After"));
+        writer.close();
+        assertEquals(21, writer.getWritten());
+        List<String> lines = Files.readAllLines(FILE);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith("\tAfter"));
+        assertTrue(Files.exists(blocker));
+    }
+
+    @Test
+    void testInvalidAddress() {
+        EventLogWriter writer = new EventLogWriter(Paths.get("./data/missing/events.log"), 100, 3, 60000);
+        assertThrows(IOException.class, writer::start);
+    }
+}
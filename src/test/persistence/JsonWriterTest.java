@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -77,4 +79,33 @@ public class JsonWriterTest extends JsonTest {
             fail("IOException is not expected");
         }
     }
+
+    @Test
+    void testWriteKeepsCents() {
+        BalanceSheet bs = new BalanceSheet();
+        Expense ep1 = new Expense(0.10);
+        Expense ep2 = new Expense(0.20);
+        ep1.classify(ExpenseCategory.FOOD);
+        ep2.classify(ExpenseCategory.FOOD);
+        bs.addRecord(ep1);
+        bs.addRecord(ep2);
+
+        try {
+            Path file = Files.createTempFile("centsBalanceSheet", ".json");
+            try {
+                JsonWriter writer = new JsonWriter(file.toString());
+                writer.open();
+                writer.write(bs);
+                writer.close();
+
+                BalanceSheet readBS = new JsonReader(file.toString()).read();
+                assertEquals(30, readBS.calTotalExpenseCents());
+                assertEquals(10, readBS.getExpenseList().get(0).getAmountCents());
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            fail("IOException is not expected");
+        }
+    }
 }